@@ -0,0 +1,290 @@
+package com.gmail.justisroot.hmff;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * The off-heap storage behind an {@link ArenaHMFF}, holding every {@link Section} of a document as a fixed size record.<br>
+ * <br>
+ * Each record links a {@link Section} to its parent, first child and next sibling by index, and points into a separate region holding
+ * the UTF-8 encoded keys, values and comments. A hash table keyed by parent and key finds any child in a single probe.
+ * All three live in direct buffers, so the heap holds only this object however many {@link Section}s there are.
+ */
+final class Arena {
+
+	static final int ROOT = 0, NONE = -1;
+
+	private static final int PARENT = 0, FIRST_CHILD = 1, NEXT_SIBLING = 2, KEY = 3, KEY_LENGTH = 4, KEY_HASH = 5, VALUE = 6, VALUE_LENGTH = 7, COMMENTS = 8, COMMENT_COUNT = 9;
+	private static final int RECORD_SIZE = 10;
+
+	private IntBuffer records = ByteBuffer.allocateDirect(1 << 12).asIntBuffer();
+	private ByteBuffer text = ByteBuffer.allocateDirect(1 << 12);
+	private IntBuffer table = ByteBuffer.allocateDirect(4 * 16).asIntBuffer();
+
+	private int size, orphans, textSize;
+
+	/**
+	 * Create an {@link Arena} holding only an empty root {@link Section} with the provided key.
+	 *
+	 * @param key The key/name of the root {@link Section}
+	 */
+	Arena(String key) {
+		add(NONE, key, "");
+	}
+
+	/**
+	 * Load the {@link Section}s reported by the reader into a new {@link Arena}.<br>
+	 * Later {@link Section}s replace earlier ones with the same key and parent, keeping their position, as they would in a {@link HMFF}.
+	 *
+	 * @param reader The {@link HMFFReader} to read the {@link Section}s from
+	 *
+	 * @param key The key/name of the root {@link Section}
+	 *
+	 * @return a new {@link Arena} holding the reader's contents
+	 *
+	 * @throws IOException if the reader's input could not be read
+	 */
+	static Arena load(HMFFReader reader, String key) throws IOException {
+		Arena arena = new Arena(key);
+		int[] open = new int[16], last = new int[16];
+		open[0] = ROOT;
+		last[0] = NONE;
+		int comments = NONE, count = 0;
+		while (reader.hasNext()) {
+			switch (reader.next()) {
+				case COMMENT:
+					int offset = arena.comment(reader.getComment());
+					if (count++ == 0) comments = offset;
+					break;
+				case START_SECTION:
+					int depth = reader.getDepth();
+					int node = arena.child(open[depth], reader.getKey(), reader.getValue(), last[depth]);
+					arena.setComments(node, comments, count);
+					if (arena.get(node, NEXT_SIBLING) == NONE) last[depth] = node; // unless it replaced one in the middle
+					comments = NONE;
+					count = 0;
+					if (depth + 2 > open.length) {
+						open = Arrays.copyOf(open, open.length * 2);
+						last = Arrays.copyOf(last, last.length * 2);
+					}
+					open[depth + 1] = node;
+					last[depth + 1] = NONE;
+					break;
+				default:
+					break;
+			}
+		}
+		if (count > 0) arena.setComments(ROOT, comments, count);
+		return arena;
+	}
+
+	/**
+	 * Get the number of {@link Section}s held, including the root.
+	 *
+	 * @return the number of records, not counting those replaced by later {@link Section}s
+	 */
+	int size() {
+		return this.size - this.orphans;
+	}
+
+	String key(int node) {
+		return string(get(node, KEY), get(node, KEY_LENGTH));
+	}
+
+	String value(int node) {
+		return string(get(node, VALUE), get(node, VALUE_LENGTH));
+	}
+
+	int parent(int node) {
+		return get(node, PARENT);
+	}
+
+	int firstChild(int node) {
+		return get(node, FIRST_CHILD);
+	}
+
+	int nextSibling(int node) {
+		return get(node, NEXT_SIBLING);
+	}
+
+	/**
+	 * Get the comments preceding the provided {@link Section}.
+	 *
+	 * @param node The index of the {@link Section}
+	 *
+	 * @return the comments, or an empty array if there are none
+	 */
+	String[] comments(int node) {
+		int offset = get(node, COMMENTS);
+		String[] comments = new String[get(node, COMMENT_COUNT)];
+		for (int i = 0; i < comments.length; i++) {
+			int length = this.text.getInt(offset);
+			comments[i] = string(offset + 4, length);
+			offset += 4 + length;
+		}
+		return comments;
+	}
+
+	boolean hasComments(int node) {
+		return get(node, COMMENT_COUNT) > 0;
+	}
+
+	/**
+	 * Find the child of the provided {@link Section} with the provided key.
+	 *
+	 * @param parent The index of the parent {@link Section}
+	 *
+	 * @param key The key/name of the child
+	 *
+	 * @return the index of the child, or {@link #NONE} if there is none
+	 */
+	int child(int parent, String key) {
+		int hash = key.hashCode(), mask = this.table.capacity() - 1;
+		for (int i = slot(parent, hash) & mask; ; i = (i + 1) & mask) {
+			int node = this.table.get(i) - 1;
+			if (node == NONE) return NONE;
+			if (get(node, PARENT) == parent && get(node, KEY_HASH) == hash && keyEquals(node, key)) return node;
+		}
+	}
+
+	/** Add a child after the provided sibling, or replace the existing child with the same key in place **/
+	private int child(int parent, String key, String value, int previous) {
+		int existing = child(parent, key);
+		if (existing == NONE) {
+			int node = add(parent, key, value);
+			if (previous == NONE) set(parent, FIRST_CHILD, node);
+			else set(previous, NEXT_SIBLING, node);
+			return node;
+		}
+		orphan(get(existing, FIRST_CHILD));
+		set(existing, FIRST_CHILD, NONE);
+		set(existing, VALUE, write(value));
+		set(existing, VALUE_LENGTH, this.textSize - get(existing, VALUE));
+		return existing;
+	}
+
+	/** Detach the replaced children of a {@link Section} from the hash table, so they are never found again **/
+	private void orphan(int node) {
+		for (; node != NONE; node = get(node, NEXT_SIBLING)) {
+			orphan(get(node, FIRST_CHILD));
+			set(node, PARENT, NONE - 1);
+			this.orphans++;
+		}
+	}
+
+	private int add(int parent, String key, String value) {
+		if ((this.size + 1) * RECORD_SIZE > this.records.capacity()) this.records = grow(this.records, (this.size + 1) * RECORD_SIZE);
+		int node = this.size++;
+		set(node, PARENT, parent);
+		set(node, FIRST_CHILD, NONE);
+		set(node, NEXT_SIBLING, NONE);
+		set(node, KEY, write(key));
+		set(node, KEY_LENGTH, this.textSize - get(node, KEY));
+		set(node, KEY_HASH, key.hashCode());
+		set(node, VALUE, write(value));
+		set(node, VALUE_LENGTH, this.textSize - get(node, VALUE));
+		set(node, COMMENT_COUNT, 0);
+		if (this.size * 2 > this.table.capacity()) rehash(this.table.capacity() * 2);
+		else insert(node);
+		return node;
+	}
+
+	private void setComments(int node, int offset, int count) {
+		set(node, COMMENTS, offset);
+		set(node, COMMENT_COUNT, count);
+	}
+
+	/** Write a comment as its length followed by its bytes, returning where it begins **/
+	private int comment(String comment) {
+		int offset = this.textSize;
+		reserve(4);
+		this.textSize += 4;
+		int start = write(comment);
+		this.text.putInt(offset, this.textSize - start);
+		return offset;
+	}
+
+	/** Write the UTF-8 bytes of the provided {@code String}, returning where they begin **/
+	private int write(String string) {
+		int offset = this.textSize;
+		int length = string.length();
+		reserve(length);
+		for (int i = 0; i < length; i++) {
+			char c = string.charAt(i);
+			if (c >= 0x80) {
+				byte[] bytes = string.getBytes(StandardCharsets.UTF_8);
+				reserve(bytes.length);
+				this.text.duplicate().position(offset).put(bytes);
+				this.textSize = offset + bytes.length;
+				return offset;
+			}
+			this.text.put(offset + i, (byte) c);
+		}
+		this.textSize = offset + length;
+		return offset;
+	}
+
+	private String string(int offset, int length) {
+		byte[] bytes = new byte[length];
+		this.text.duplicate().position(offset).get(bytes);
+		return new String(bytes, StandardCharsets.UTF_8);
+	}
+
+	/** Compare a key without decoding it, unless the key being looked for isn't plain ASCII **/
+	private boolean keyEquals(int node, String key) {
+		int offset = get(node, KEY), length = get(node, KEY_LENGTH);
+		if (key.length() > length) return false;
+		for (int i = 0; i < key.length(); i++) {
+			char c = key.charAt(i);
+			if (c >= 0x80) return string(offset, length).equals(key);
+			if (this.text.get(offset + i) != c) return false;
+		}
+		return key.length() == length;
+	}
+
+	private void reserve(int bytes) {
+		if (this.textSize + bytes <= this.text.capacity()) return;
+		long capacity = Math.max((long) this.text.capacity() * 2, (long) this.textSize + bytes);
+		if (capacity > Integer.MAX_VALUE) throw new IllegalStateException("Arena documents are limited to 2 GiB of text");
+		ByteBuffer text = ByteBuffer.allocateDirect((int) capacity);
+		text.put(this.text.duplicate().position(0).limit(this.textSize));
+		this.text = text;
+	}
+
+	private void insert(int node) {
+		int mask = this.table.capacity() - 1;
+		int i = slot(get(node, PARENT), get(node, KEY_HASH)) & mask;
+		while (this.table.get(i) != 0) i = (i + 1) & mask;
+		this.table.put(i, node + 1);
+	}
+
+	private void rehash(int capacity) {
+		this.table = ByteBuffer.allocateDirect(capacity * 4).asIntBuffer();
+		for (int node = 1; node < this.size; node++) if (get(node, PARENT) >= 0) insert(node);
+	}
+
+	private int get(int node, int field) {
+		return this.records.get(node * RECORD_SIZE + field);
+	}
+
+	private void set(int node, int field, int value) {
+		this.records.put(node * RECORD_SIZE + field, value);
+	}
+
+	private static int slot(int parent, int hash) {
+		int slot = parent * 0x9E3779B9 ^ hash;
+		return slot ^ (slot >>> 16);
+	}
+
+	private static IntBuffer grow(IntBuffer buffer, int required) {
+		long capacity = Math.max((long) buffer.capacity() * 2, required);
+		if (capacity * 4 > Integer.MAX_VALUE) throw new IllegalStateException("Arena documents are limited to " + Integer.MAX_VALUE / 4 / RECORD_SIZE + " sections");
+		IntBuffer grown = ByteBuffer.allocateDirect((int) capacity * 4).asIntBuffer();
+		grown.put(buffer.duplicate().position(0).limit(buffer.capacity()));
+		return grown;
+	}
+
+}
@@ -0,0 +1,102 @@
+package com.gmail.justisroot.hmff;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * A read only interpretation of a HMFF file, for documents too large to hold as a tree of {@link Section}s.<br>
+ * <br>
+ * Every key, value and comment, along with the structure linking them, is stored off-heap in a compact {@link Arena},
+ * so the garbage collector sees only a handful of objects however many entries the file holds.
+ * Looking a {@link Section} up creates a short lived view of it, which can be read through every getter a {@link HMFF} offers,
+ * and finding each step along a path takes a single hash probe.<br>
+ * <br>
+ * The contents can't be modified, and any attempt to do so throws an {@linkplain UnsupportedOperationException}.
+ * Use {@link #copyTo(Section)} to bring part of the document into a {@link HMFF} to modify it.
+ */
+public final class ArenaHMFF extends ArenaSection {
+
+	private final File file;
+
+	/**
+	 * Load an {@link ArenaHMFF} from the provided {@linkplain File}, using the platform's default {@linkplain Charset}.
+	 *
+	 * @param file The {@linkplain File} to read
+	 *
+	 * @throws UncheckedIOException if the file could not be read
+	 */
+	public ArenaHMFF(File file) {
+		this(file, Charset.defaultCharset());
+	}
+
+	/**
+	 * Load an {@link ArenaHMFF} from the provided {@linkplain File}.
+	 *
+	 * @param file The {@linkplain File} to read
+	 *
+	 * @param charset The {@linkplain Charset} the file is encoded with
+	 *
+	 * @throws UncheckedIOException if the file could not be read
+	 */
+	public ArenaHMFF(File file, Charset charset) {
+		super(null, load(file, charset), Arena.ROOT);
+		this.file = file;
+	}
+
+	private static Arena load(File file, Charset charset) {
+		String name = file.getName();
+		String key = name.substring(0, name.indexOf(".") > 0 ? name.indexOf(".") : 0);
+		try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+			return Arena.load(new HMFFReader(channel, charset), key);
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	/**
+	 * Get the raw {@linkplain File} object this {@link ArenaHMFF} was loaded from.
+	 *
+	 * @return The {@linkplain File} this {@link ArenaHMFF} was loaded from
+	 */
+	public File getFile() {
+		return this.file;
+	}
+
+	/**
+	 * Get the number of {@link Section}s in the document.
+	 *
+	 * @return the number of {@link Section}s, not counting the root
+	 */
+	public int size() {
+		return this.arena.size() - 1;
+	}
+
+	/**
+	 * Write the document to the provided {@linkplain Appendable}, as it would appear if saved by a {@link HMFF}.
+	 *
+	 * @param out The {@linkplain Appendable} to write to
+	 *
+	 * @throws IOException if the {@linkplain Appendable} could not be written to
+	 */
+	public void writeTo(Appendable out) throws IOException {
+		LineWriter writer = new LineWriter(out);
+		for (Section child : peekChildren().values()) child.write(writer, 0);
+		for (String comment : this.comments) writer.line(0).append(COMMENT_INDICATOR).append(' ').append(comment);
+	}
+
+	@Override
+	public String toString() {
+		StringBuilder builder = new StringBuilder();
+		try {
+			writeTo(builder);
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+		return builder.toString();
+	}
+
+}
@@ -0,0 +1,137 @@
+package com.gmail.justisroot.hmff;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Supplier;
+
+/**
+ * A read only view of one {@link Section} stored in an {@link Arena}.<br>
+ * <br>
+ * Views are created as {@link Section}s are looked up and hold nothing but their key and value, so they can be discarded as soon as they have been read.
+ * Any attempt to modify one throws an {@linkplain UnsupportedOperationException}.
+ */
+class ArenaSection extends Section {
+
+	final Arena arena;
+	final int node;
+
+	private final ArenaSection root;
+
+	ArenaSection(ArenaSection root, Arena arena, int node) {
+		super(null, arena.key(node), arena.value(node), null);
+		this.arena = arena;
+		this.node = node;
+		this.root = root != null ? root : this;
+		this.comments = arena.hasComments(node) ? new Comments(arena.comments(node)).frozen() : Comments.FROZEN_EMPTY;
+	}
+
+	private ArenaSection view(int node) {
+		return node == Arena.NONE ? null : new ArenaSection(this.root, this.arena, node);
+	}
+
+	@Override
+	Section find(String[] path) {
+		int node = this.node;
+		for (String key : path) {
+			node = this.arena.child(node, key);
+			if (node == Arena.NONE) return null;
+		}
+		return node == this.node ? this : view(node);
+	}
+
+	/**
+	 * {@inheritDoc}<br>
+	 * <br>
+	 * The map is read only, and holds a new view of each child.
+	 */
+	@Override
+	public Map<String, Section> children() {
+		return peekChildren();
+	}
+
+	@Override
+	Map<String, Section> peekChildren() {
+		int child = this.arena.firstChild(this.node);
+		if (child == Arena.NONE) return Collections.emptyMap();
+		Map<String, Section> children = new LinkedHashMap<>();
+		for (; child != Arena.NONE; child = this.arena.nextSibling(child)) {
+			ArenaSection view = view(child);
+			children.put(view.key, view);
+		}
+		return Collections.unmodifiableMap(children);
+	}
+
+	@Override
+	public Optional<Section> parent() {
+		int parent = this.arena.parent(this.node);
+		return Optional.ofNullable(parent == Arena.ROOT ? this.root : view(parent));
+	}
+
+	@Override
+	public Section getRoot() {
+		return this.root;
+	}
+
+	@Override
+	public int countParents() {
+		int parents = 0;
+		for (int node = this.arena.parent(this.node); node != Arena.NONE; node = this.arena.parent(node)) parents++;
+		return parents;
+	}
+
+	@Override
+	Section freeze() {
+		return this;
+	}
+
+	@Override
+	public void deduplicate(StringTable strings) {
+		throw unsupported();
+	}
+
+	@Override
+	Section addChild(Section child) {
+		throw unsupported();
+	}
+
+	@Override
+	void setValue(String value) {
+		throw unsupported();
+	}
+
+	@Override
+	void assign(String value, String[] path) {
+		throw unsupported();
+	}
+
+	@Override
+	void rename(String key, String[] path) {
+		throw unsupported();
+	}
+
+	@Override
+	void remove(String[] path) {
+		throw unsupported();
+	}
+
+	@Override
+	Section getOrCreate(String value, String[] path) {
+		Section section = find(path);
+		if (section == null) throw unsupported();
+		return section;
+	}
+
+	@Override
+	Section getOrCreate(Supplier<String> value, String[] path) {
+		Section section = find(path);
+		if (section == null) throw unsupported();
+		return section;
+	}
+
+	private static UnsupportedOperationException unsupported() {
+		return new UnsupportedOperationException("Arena documents cannot be modified");
+	}
+
+}
@@ -0,0 +1,139 @@
+package com.gmail.justisroot.hmff;
+
+/**
+ * Walks the elements of a {@code String} representation of an array in place, without splitting it into substrings.<br>
+ * <br>
+ * If the format {@code [s1, s2, s3]} is found, elements are separated by a comma and at most one following whitespace character,
+ * otherwise they are separated by runs of whitespace. Like {@linkplain String#split(String)}, trailing empty elements are dropped
+ * unless no separator was found at all.
+ */
+final class ArrayParser {
+
+	private final String value;
+	private final int from, to, count;
+	private final boolean bracketed;
+
+	private int position, index, start, end;
+
+	ArrayParser(String value) {
+		int from = 0, to = value.length();
+		while (from < to && value.charAt(from) <= ' ') from++;
+		while (to > from && value.charAt(to - 1) <= ' ') to--;
+		this.bracketed = to - from >= 2 && value.charAt(from) == '[' && value.charAt(to - 1) == ']';
+		this.value = value;
+		this.from = this.bracketed ? from + 1 : from;
+		this.to = this.bracketed ? to - 1 : to;
+		this.count = count();
+		this.position = this.from;
+	}
+
+	/**
+	 * Get the number of elements in the array.
+	 *
+	 * @return the number of elements
+	 */
+	int size() {
+		return this.count;
+	}
+
+	/**
+	 * Advance to the next element, which the parse methods then read.
+	 *
+	 * @return true if there was another element, false otherwise
+	 */
+	boolean next() {
+		if (this.index == this.count) return false;
+		this.index++;
+		this.start = this.position;
+		for (int i = this.position; i < this.to; i++) {
+			int separator = separator(i);
+			if (separator == 0) continue;
+			this.end = i;
+			this.position = i + separator;
+			return true;
+		}
+		this.end = this.position = this.to;
+		return true;
+	}
+
+	/** The current element as a {@code String} **/
+	String string() {
+		return this.value.substring(this.start, this.end);
+	}
+
+	/** Whether the current element, ignoring surrounding whitespace, is the provided {@code String} **/
+	boolean is(String string) {
+		int start = this.start, end = this.end;
+		while (start < end && this.value.charAt(start) <= ' ') start++;
+		while (end > start && this.value.charAt(end - 1) <= ' ') end--;
+		return end - start == string.length() && this.value.startsWith(string, start);
+	}
+
+	/** The current element parsed as an {@code int}, throwing a {@linkplain NumberFormatException} if it isn't one **/
+	int parseInt() {
+		return Integer.parseInt(this.value, this.start, this.end, 10);
+	}
+
+	/** The current element parsed as a {@code byte}, throwing a {@linkplain NumberFormatException} if it isn't one **/
+	byte parseByte() {
+		int value = parseInt();
+		if (value < Byte.MIN_VALUE || value > Byte.MAX_VALUE) throw new NumberFormatException("Value out of range. Value:\"" + string() + "\" Radix:10");
+		return (byte) value;
+	}
+
+	/** The current element parsed as a {@code long}, throwing a {@linkplain NumberFormatException} if it isn't one **/
+	long parseLong() {
+		return Long.parseLong(this.value, this.start, this.end, 10);
+	}
+
+	/** The current element parsed as a {@code double}, throwing a {@linkplain NumberFormatException} if it isn't one **/
+	double parseDouble() {
+		return Double.parseDouble(string());
+	}
+
+	/** The current element parsed as a {@code float}, throwing a {@linkplain NumberFormatException} if it isn't one **/
+	float parseFloat() {
+		return Float.parseFloat(string());
+	}
+
+	/** The current element parsed as a {@code boolean}, following {@linkplain Boolean#parseBoolean(String)} **/
+	boolean parseBoolean() {
+		return this.end - this.start == 4 && this.value.regionMatches(true, this.start, "true", 0, 4);
+	}
+
+	private int count() {
+		int elements = 0, kept = 0;
+		boolean separated = false;
+		for (int i = this.from, start = i; i <= this.to; ) {
+			int separator = i < this.to ? separator(i) : 0;
+			if (separator == 0 && i < this.to) {
+				i++;
+				continue;
+			}
+			elements++;
+			if (i > start) kept = elements;
+			if (separator == 0) break;
+			separated = true;
+			i = start = i + separator;
+		}
+		return separated ? kept : elements;
+	}
+
+	/** Get the length of the separator starting at the provided index, or 0 if there isn't one **/
+	private int separator(int i) {
+		char c = this.value.charAt(i);
+		if (this.bracketed) {
+			if (c != ',') return 0;
+			return i + 1 < this.to && isWhitespace(this.value.charAt(i + 1)) ? 2 : 1;
+		}
+		int length = 0;
+		while (i + length < this.to && isWhitespace(this.value.charAt(i + length))) length++;
+		return length;
+	}
+
+	/** Whether the character is matched by the regular expression {@code \s} **/
+	private static boolean isWhitespace(char c) {
+		return c == ' ' || c == '\t' || c == '\n' || c == '\u000B' || c == '\f' || c == '\r';
+	}
+
+}
@@ -0,0 +1,63 @@
+package com.gmail.justisroot.hmff;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Write-behind saving for a {@link HMFF}, enabled through {@link HMFF#enableAutosave(long, TimeUnit)}.<br>
+ * <br>
+ * The first modification after a flush schedules the next one, an interval later. Any modifications made in the meantime are written along with it,
+ * so the file is rewritten at most once per interval however many modifications arrive. A shutdown hook flushes whatever remains when the JVM exits.
+ */
+final class Autosave implements Runnable {
+
+	private final HMFF hmff;
+	private final long interval;
+	private final Thread hook;
+	private final AtomicBoolean scheduled = new AtomicBoolean();
+
+	Autosave(HMFF hmff, long interval, TimeUnit unit) {
+		this.hmff = hmff;
+		this.interval = unit.toNanos(interval);
+		this.hook = new Thread(hmff::flush, "HMFF Autosave Shutdown");
+	}
+
+	/**
+	 * Schedule a flush, unless one is already pending.
+	 */
+	void schedule() {
+		if (this.scheduled.compareAndSet(false, true)) Scheduler.INSTANCE.schedule(this, this.interval, TimeUnit.NANOSECONDS);
+	}
+
+	@Override
+	public void run() {
+		this.scheduled.set(false);
+		this.hmff.flush();
+	}
+
+	void start() {
+		Runtime.getRuntime().addShutdownHook(this.hook);
+	}
+
+	void stop() {
+		try {
+			Runtime.getRuntime().removeShutdownHook(this.hook);
+		} catch (IllegalStateException e) {
+			// already shutting down, so the hook is either running or about to
+		}
+	}
+
+	/** Lazily creates the single daemon thread shared by every {@link Autosave} **/
+	private static final class Scheduler {
+
+		private static final ScheduledExecutorService INSTANCE = Executors.newSingleThreadScheduledExecutor(runnable -> {
+			Thread thread = new Thread(runnable, "HMFF Autosave");
+			thread.setDaemon(true);
+			return thread;
+		});
+
+	}
+
+}
@@ -0,0 +1,407 @@
+package com.gmail.justisroot.hmff;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Array;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.function.IntFunction;
+
+/**
+ * The plan for binding the {@link Section}s beneath a path onto the fields of a class, built once per class and then reused.<br>
+ * <br>
+ * Every non-static, non-transient field declared by the class or its superclasses is bound to the {@link Section} at its {@link HMFFPath},
+ * or at its own name if it has none. Each field is read and written through a {@linkplain MethodHandle}, and converted by a converter chosen
+ * for its type when the plan is built, so binding involves no reflection once the plan exists.<br>
+ * <br>
+ * Fields may be a {@code String}, a primitive or its wrapper, an enum, an array or {@linkplain List} of any of those, or another class,
+ * which is bound to the {@link Section}s beneath its own {@link Section} in turn. Fields whose {@link Section} is missing,
+ * or whose value can't be parsed as their type, keep the value given to them by the class's no-argument constructor.
+ * Arrays and {@linkplain List}s are parsed in place, and are kept as they were if any one of their elements can't be parsed.
+ */
+final class Binder {
+
+	private static final MethodHandles.Lookup LOOKUP = MethodHandles.lookup();
+
+	private static final ClassValue<Binder> BINDERS = new ClassValue<>() {
+		@Override
+		protected Binder computeValue(Class<?> type) {
+			return new Binder(type);
+		}
+	};
+
+	private final Class<?> type;
+	private final MethodHandle constructor;
+	private final Property[] properties;
+
+	private Binder(Class<?> type) {
+		if (type.isInterface() || type.isArray() || type.isPrimitive() || Modifier.isAbstract(type.getModifiers()))
+			throw new IllegalArgumentException("Can't bind " + type.getName() + ", only concrete classes can be bound");
+		this.type = type;
+		try {
+			Constructor<?> constructor = type.getDeclaredConstructor();
+			constructor.setAccessible(true);
+			this.constructor = LOOKUP.unreflectConstructor(constructor).asType(MethodType.methodType(Object.class));
+		} catch (NoSuchMethodException e) {
+			throw new IllegalArgumentException("Can't bind " + type.getName() + ", as it has no no-argument constructor");
+		} catch (IllegalAccessException | RuntimeException e) {
+			throw new IllegalArgumentException("Can't bind " + type.getName() + ": " + e.getMessage(), e);
+		}
+		List<Property> properties = new ArrayList<>();
+		List<Class<?>> hierarchy = new ArrayList<>();
+		for (Class<?> c = type; c != null && c != Object.class; c = c.getSuperclass()) hierarchy.add(0, c);
+		for (Class<?> c : hierarchy) {
+			for (Field field : c.getDeclaredFields()) {
+				int modifiers = field.getModifiers();
+				if (Modifier.isStatic(modifiers) || Modifier.isTransient(modifiers) || field.isSynthetic()) continue;
+				properties.add(new Property(field));
+			}
+		}
+		this.properties = properties.toArray(new Property[0]);
+	}
+
+	/**
+	 * Get the plan for binding the provided class, building it the first time the class is bound.
+	 *
+	 * @param type The class to bind
+	 *
+	 * @return the {@link Binder} for the class
+	 *
+	 * @throws IllegalArgumentException if the class, or the type of one of its fields, can't be bound
+	 */
+	static Binder of(Class<?> type) {
+		return BINDERS.get(type);
+	}
+
+	/**
+	 * Create a new instance of the class, with its fields read from the {@link Section}s beneath the provided {@link Section}.
+	 *
+	 * @param section The {@link Section} to bind, or null to create an instance with only the defaults given by its constructor
+	 *
+	 * @return the new instance
+	 */
+	Object bind(Section section) {
+		Object instance = newInstance();
+		if (section != null) read(section, instance);
+		return instance;
+	}
+
+	/**
+	 * Write the fields of the provided instance to the {@link Section}s beneath the provided path, creating any which are missing.<br>
+	 * Fields which are null are skipped, leaving their {@link Section}s as they were.
+	 *
+	 * @param instance The instance of the class to write
+	 *
+	 * @param root The {@link Section} the path begins at, which every value is assigned through
+	 *
+	 * @param path The path to the {@link Section} to write to
+	 *
+	 * @throws IllegalArgumentException if the instance refers back to itself, or an element of an array or {@linkplain List} can't be written as one
+	 */
+	void unbind(Object instance, Section root, String[] path) {
+		Set<Object> unbinding = Collections.newSetFromMap(new IdentityHashMap<>());
+		unbinding.add(instance);
+		unbind(instance, root, path, unbinding);
+	}
+
+	/** Write the fields of the instance, which is nested within each of the instances being unbound **/
+	private void unbind(Object instance, Section root, String[] path, Set<Object> unbinding) {
+		for (Property property : this.properties) {
+			Object value = property.get(instance);
+			if (value != null) property.converter.write(root, concat(path, property.path), value, unbinding);
+		}
+	}
+
+	private void read(Section section, Object instance) {
+		for (Property property : this.properties) {
+			Section child = section.find(property.path);
+			if (child == null) continue;
+			Object value = property.converter.read(child, property.get(instance));
+			if (value != null) property.set(instance, value);
+		}
+	}
+
+	private Object newInstance() {
+		try {
+			return this.constructor.invokeExact();
+		} catch (RuntimeException | Error e) {
+			throw e;
+		} catch (Throwable e) {
+			throw new IllegalStateException("Could not create an instance of " + this.type.getName(), e);
+		}
+	}
+
+	private static String[] concat(String[] path, String[] relative) {
+		String[] concatenated = Arrays.copyOf(path, path.length + relative.length);
+		System.arraycopy(relative, 0, concatenated, path.length, relative.length);
+		return concatenated;
+	}
+
+	private static final class Property {
+
+		final String[] path;
+		final Converter converter;
+
+		private final Field field;
+		private final MethodHandle getter, setter;
+
+		Property(Field field) {
+			HMFFPath path = field.getAnnotation(HMFFPath.class);
+			this.path = path == null ? new String[] {field.getName()} : path.value().split("\\.", -1);
+			this.field = field;
+			this.converter = Converter.of(field.getType(), field.getGenericType(), field);
+			try {
+				field.setAccessible(true);
+				this.getter = LOOKUP.unreflectGetter(field).asType(MethodType.methodType(Object.class, Object.class));
+				this.setter = LOOKUP.unreflectSetter(field).asType(MethodType.methodType(void.class, Object.class, Object.class));
+			} catch (IllegalAccessException | RuntimeException e) {
+				throw new IllegalArgumentException("Can't bind " + field + ": " + e.getMessage(), e);
+			}
+		}
+
+		Object get(Object instance) {
+			try {
+				return this.getter.invokeExact(instance);
+			} catch (RuntimeException | Error e) {
+				throw e;
+			} catch (Throwable e) {
+				throw new IllegalStateException("Could not read " + this.field, e);
+			}
+		}
+
+		void set(Object instance, Object value) {
+			try {
+				this.setter.invokeExact(instance, value);
+			} catch (RuntimeException | Error e) {
+				throw e;
+			} catch (Throwable e) {
+				throw new IllegalStateException("Could not write " + this.field, e);
+			}
+		}
+
+	}
+
+	/** Converts between a {@link Section} and the value of a field of a particular type **/
+	private abstract static class Converter {
+
+		/**
+		 * Read the value of the field from its {@link Section}.
+		 *
+		 * @param section The {@link Section} holding the value
+		 *
+		 * @param current The field's current value, which may be updated in place
+		 *
+		 * @return the value to give the field, or null to leave it as it is
+		 */
+		abstract Object read(Section section, Object current);
+
+		/** Write the value of the field to its {@link Section}, assigning it through the provided root, within the provided instances being unbound **/
+		abstract void write(Section root, String[] path, Object value, Set<Object> unbinding);
+
+		static Converter of(Class<?> type, Type generic, Field field) {
+			Function<String, Object> scalar = scalar(type);
+			if (scalar != null) return new Scalar(type, scalar);
+			if (type.isArray()) {
+				Class<?> component = type.getComponentType();
+				Function<ArrayParser, Object> element = element(component);
+				if (element == null) throw unsupported(field);
+				return new Elements(element, size -> Array.newInstance(component, size));
+			}
+			if (type == List.class || type == ArrayList.class || type == Iterable.class || type == Collection.class) {
+				if (!(generic instanceof ParameterizedType)) throw unsupported(field);
+				Type argument = ((ParameterizedType) generic).getActualTypeArguments()[0];
+				Function<ArrayParser, Object> element = argument instanceof Class ? element((Class<?>) argument) : null;
+				if (element == null) throw unsupported(field);
+				return new Elements(element, null);
+			}
+			if (type.isPrimitive() || type.getName().startsWith("java.")) throw unsupported(field);
+			return new Nested(type);
+		}
+
+		/** Get the parser for a single value of the provided type, or null if it isn't a single value **/
+		private static Function<String, Object> scalar(Class<?> type) {
+			if (type == String.class) return value -> value;
+			if (type == boolean.class || type == Boolean.class) return ValueType.BOOLEAN::parse;
+			if (type == int.class || type == Integer.class) return ValueType.INTEGER::parse;
+			if (type == long.class || type == Long.class) return ValueType.LONG::parse;
+			if (type == double.class || type == Double.class) return ValueType.DOUBLE::parse;
+			if (type == float.class || type == Float.class) return ValueType.FLOAT::parse;
+			if (type == byte.class || type == Byte.class) return ValueType.BYTE::parse;
+			if (type.isEnum()) {
+				Object[] constants = type.getEnumConstants();
+				return value -> constant(constants, value.trim());
+			}
+			return null;
+		}
+
+		/**
+		 * Get the parser for the current element of an {@link ArrayParser} of the provided type, which parses it in place as the typed array getters do,
+		 * or null if it isn't a single value. The parser throws an {@linkplain IllegalArgumentException} if the element isn't a valid representation of the type.
+		 */
+		private static Function<ArrayParser, Object> element(Class<?> type) {
+			if (type == String.class) return ArrayParser::string;
+			if (type == boolean.class || type == Boolean.class) return ArrayParser::parseBoolean;
+			if (type == int.class || type == Integer.class) return ArrayParser::parseInt;
+			if (type == long.class || type == Long.class) return ArrayParser::parseLong;
+			if (type == double.class || type == Double.class) return ArrayParser::parseDouble;
+			if (type == float.class || type == Float.class) return ArrayParser::parseFloat;
+			if (type == byte.class || type == Byte.class) return ArrayParser::parseByte;
+			if (type.isEnum()) {
+				Object[] constants = type.getEnumConstants();
+				return parser -> {
+					for (Object constant : constants) if (parser.is(((Enum<?>) constant).name())) return constant;
+					throw new IllegalArgumentException("No constant of " + type.getName() + " named " + parser.string());
+				};
+			}
+			return null;
+		}
+
+		private static Object constant(Object[] constants, String name) {
+			for (Object constant : constants) if (((Enum<?>) constant).name().equals(name)) return constant;
+			return null;
+		}
+
+		private static IllegalArgumentException unsupported(Field field) {
+			return new IllegalArgumentException("Can't bind " + field + ", as its type can't be read from a Section");
+		}
+
+		/** Format a single value as it is written to a {@link Section} **/
+		static String format(Object value) {
+			return value instanceof Enum ? ((Enum<?>) value).name() : value.toString();
+		}
+
+	}
+
+	private static final class Scalar extends Converter {
+
+		private final Function<String, Object> parser;
+		private final ValueType<?> cached;
+
+		Scalar(Class<?> type, Function<String, Object> parser) {
+			this.parser = parser;
+			this.cached = cached(type);
+		}
+
+		@Override
+		Object read(Section section, Object current) {
+			if (this.cached != null) return section.parsed(this.cached);
+			return this.parser.apply(section.getValue());
+		}
+
+		/** Get the {@link ValueType} whose parsed values the {@link Section}s cache, as the typed getters use **/
+		private static ValueType<?> cached(Class<?> type) {
+			if (type == boolean.class || type == Boolean.class) return ValueType.BOOLEAN;
+			if (type == int.class || type == Integer.class) return ValueType.INTEGER;
+			if (type == long.class || type == Long.class) return ValueType.LONG;
+			if (type == double.class || type == Double.class) return ValueType.DOUBLE;
+			if (type == float.class || type == Float.class) return ValueType.FLOAT;
+			if (type == byte.class || type == Byte.class) return ValueType.BYTE;
+			return null;
+		}
+
+		@Override
+		void write(Section root, String[] path, Object value, Set<Object> unbinding) {
+			root.assign(format(value), path);
+		}
+
+	}
+
+	/** Converts arrays and {@linkplain List}s, in the format {@code [e1, e2, e3]} written by {@link Transmutable}'s array setters **/
+	private static final class Elements extends Converter {
+
+		private final Function<ArrayParser, Object> element;
+		private final IntFunction<Object> array;
+
+		/**
+		 * @param element The parser for the current element, which throws an {@linkplain IllegalArgumentException} if it isn't valid
+		 *
+		 * @param array Creates an array of the provided size, or null to read a {@linkplain List} instead
+		 */
+		Elements(Function<ArrayParser, Object> element, IntFunction<Object> array) {
+			this.element = element;
+			this.array = array;
+		}
+
+		/**
+		 * {@inheritDoc}<br>
+		 * If any element isn't a valid representation of the element type, the whole field is left as it is, like a single value which can't be parsed.
+		 */
+		@Override
+		Object read(Section section, Object current) {
+			ArrayParser parser = new ArrayParser(section.getValue());
+			Object array = this.array != null ? this.array.apply(parser.size()) : null;
+			List<Object> list = array == null ? new ArrayList<>(parser.size()) : null;
+			try {
+				for (int i = 0; parser.next(); i++) {
+					if (array == null) list.add(this.element.apply(parser));
+					else Array.set(array, i, this.element.apply(parser));
+				}
+			} catch (IllegalArgumentException e) {
+				return null;
+			}
+			return array != null ? array : list;
+		}
+
+		@Override
+		void write(Section root, String[] path, Object value, Set<Object> unbinding) {
+			StringBuilder builder = new StringBuilder("[");
+			if (value instanceof Iterable) {
+				for (Object element : (Iterable<?>) value) append(builder, element, path);
+			} else {
+				for (int i = 0, length = Array.getLength(value); i < length; i++) append(builder, Array.get(value, i), path);
+			}
+			root.assign(builder.append(']').toString(), path);
+		}
+
+		/** Append an element, rejecting any which would be read back as more than one, as the format has no escapes **/
+		private static void append(StringBuilder builder, Object element, String[] path) {
+			String formatted = element == null ? "null" : format(element);
+			if (formatted.indexOf(',') >= 0 || formatted.indexOf(']') >= 0)
+				throw new IllegalArgumentException("Can't write \"" + formatted + "\" to " + String.join(".", path) + ", as elements can't contain ',' or ']'");
+			builder.append(builder.length() > 1 ? ", " : "").append(formatted);
+		}
+
+	}
+
+	/** Binds a field of another class to the {@link Section}s beneath its own, looking up its {@link Binder} as it is used so that classes may refer to themselves **/
+	private static final class Nested extends Converter {
+
+		private final Class<?> type;
+
+		Nested(Class<?> type) {
+			this.type = type;
+		}
+
+		@Override
+		Object read(Section section, Object current) {
+			Binder binder = Binder.of(this.type);
+			if (current == null) return binder.bind(section);
+			binder.read(section, current);
+			return null;
+		}
+
+		@Override
+		void write(Section root, String[] path, Object value, Set<Object> unbinding) {
+			if (!unbinding.add(value)) throw new IllegalArgumentException("Can't write " + value.getClass().getName() + " to " + String.join(".", path) + ", as it refers back to itself");
+			try {
+				Binder.of(value.getClass()).unbind(value, root, path, unbinding);
+			} finally {
+				unbinding.remove(value); // only the path down to it, so that instances shared elsewhere are still written
+			}
+		}
+
+	}
+
+}
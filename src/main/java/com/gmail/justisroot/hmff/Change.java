@@ -0,0 +1,54 @@
+package com.gmail.justisroot.hmff;
+
+import java.util.Optional;
+
+/**
+ * A single difference between two versions of a {@link HMFF}, delivered to the listeners registered through {@link HMFF#onChange(java.util.function.Consumer, String...)}.<br>
+ * <br>
+ * A {@link Section} which was added has no old value, and one which was removed has no new value. Renaming a {@link Section} is reported
+ * as the removal of every {@link Section} under its old path followed by the addition of every {@link Section} under its new path.
+ */
+public final class Change {
+
+	private final CompiledPath path;
+	private final String oldValue, newValue;
+
+	Change(CompiledPath path, String oldValue, String newValue) {
+		this.path = path;
+		this.oldValue = oldValue;
+		this.newValue = newValue;
+	}
+
+	/**
+	 * Get the path of the {@link Section} which changed.
+	 *
+	 * @return the full path from the root to the changed {@link Section}
+	 */
+	public CompiledPath getPath() {
+		return this.path;
+	}
+
+	/**
+	 * Get the value the {@link Section} had before the change.
+	 *
+	 * @return an {@code Optional<String>} holding the old value, or empty if the {@link Section} was added
+	 */
+	public Optional<String> getOldValue() {
+		return Optional.ofNullable(this.oldValue);
+	}
+
+	/**
+	 * Get the value the {@link Section} has after the change.
+	 *
+	 * @return an {@code Optional<String>} holding the new value, or empty if the {@link Section} was removed
+	 */
+	public Optional<String> getNewValue() {
+		return Optional.ofNullable(this.newValue);
+	}
+
+	@Override
+	public String toString() {
+		return this.path + ": " + this.oldValue + " -> " + this.newValue;
+	}
+
+}
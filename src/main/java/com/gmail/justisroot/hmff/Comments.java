@@ -1,12 +1,22 @@
 package com.gmail.justisroot.hmff;
 
+import java.util.AbstractList;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.Iterator;
 import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 public class Comments implements Iterable<String> {
 
-	private final List<String> comments = new ArrayList<>();
+	static final Comments FROZEN_EMPTY = new Comments(null, Collections.emptyList());
+
+	private final List<String> comments;
+	private final Section owner;
+
+	private List<String> view;
 
 	/**
 	 * Create a new {@link Comments} instance with the provided values.
@@ -14,9 +24,34 @@ public class Comments implements Iterable<String> {
 	 * @param comments The {@code String} contents to populate this {@link Comments} instance
 	 */
 	public Comments(String... comments) {
+		this.owner = null;
+		this.comments = new ArrayList<>();
 		append(comments);
 	}
 
+	/**
+	 * Create a new, empty {@link Comments} instance which reports its modifications to the provided {@link Section}.
+	 */
+	Comments(Section owner) {
+		this.owner = owner;
+		this.comments = owner.isConcurrent() ? new CopyOnWriteArrayList<>() : new ArrayList<>();
+	}
+
+	private Comments(Section owner, List<String> comments) {
+		this.owner = owner;
+		this.comments = comments;
+	}
+
+	/**
+	 * Create an unmodifiable copy of this {@link Comments} instance, for a {@link Section} snapshot.
+	 *
+	 * @return a {@link Comments} instance holding the current contents, which throws {@linkplain UnsupportedOperationException} if modified
+	 */
+	Comments frozen() {
+		if (this.comments.isEmpty()) return FROZEN_EMPTY;
+		return new Comments(null, Collections.unmodifiableList(new ArrayList<>(this.comments)));
+	}
+
 	/**
 	 * Append the provided values to the current {@link Comments} contents.
 	 *
@@ -26,6 +61,7 @@ public class Comments implements Iterable<String> {
 	 */
 	public Comments append(String... comments) {
 		for (int i = 0; i < comments.length; i++) this.comments.add(comments[i]);
+		if (comments.length > 0) modified();
 		return this;
 	}
 
@@ -37,7 +73,7 @@ public class Comments implements Iterable<String> {
 	 * @return this {@link Comments} instance
 	 */
 	public Comments append(List<String> comments) {
-		this.comments.addAll(comments);
+		if (this.comments.addAll(comments)) modified();
 		return this;
 	}
 
@@ -47,7 +83,9 @@ public class Comments implements Iterable<String> {
 	 * @return this {@link Comments} instance
 	 */
 	public Comments clear() {
+		if (this.comments.isEmpty()) return this;
 		this.comments.clear();
+		modified();
 		return this;
 	}
 
@@ -59,7 +97,7 @@ public class Comments implements Iterable<String> {
 	 * @return this {@link Comments} instance
 	 */
 	public Comments set(String... comments) {
-		return clear().append(comments);
+		return set(Arrays.asList(comments));
 	}
 
 	/**
@@ -70,6 +108,7 @@ public class Comments implements Iterable<String> {
 	 * @return this {@link Comments} instance
 	 */
 	public Comments set(List<String> comments) {
+		if (this.comments.equals(comments)) return this;
 		return clear().append(comments);
 	}
 
@@ -83,12 +122,15 @@ public class Comments implements Iterable<String> {
 	}
 
 	/**
-	 * Get the {@code String} list backing this {@link Comments} instance.
+	 * Get the {@code String} list backing this {@link Comments} instance.<br>
+	 * Modifications made through the list are reflected in, and tracked by, this {@link Comments} instance.
 	 *
 	 * @return a {@code List} of strings representing the comment contents
 	 */
 	public List<String> list() {
-		return this.comments;
+		if (this.owner == null) return this.comments;
+		if (this.view == null) this.view = new TrackedList();
+		return this.view;
 	}
 
 	/**
@@ -101,4 +143,55 @@ public class Comments implements Iterable<String> {
 		return this.comments.iterator();
 	}
 
+	private void modified() {
+		if (this.owner != null) this.owner.modified();
+	}
+
+	/** A view of the backing list which reports its modifications to the owning {@link Section} **/
+	private final class TrackedList extends AbstractList<String> {
+
+		@Override
+		public String get(int index) {
+			return comments.get(index);
+		}
+
+		@Override
+		public int size() {
+			return comments.size();
+		}
+
+		@Override
+		public String set(int index, String element) {
+			String previous = comments.set(index, element);
+			modified();
+			return previous;
+		}
+
+		@Override
+		public void add(int index, String element) {
+			comments.add(index, element);
+			modified();
+		}
+
+		@Override
+		public boolean addAll(int index, Collection<? extends String> elements) {
+			if (!comments.addAll(index, elements)) return false;
+			modified();
+			return true;
+		}
+
+		@Override
+		public String remove(int index) {
+			String removed = comments.remove(index);
+			modified();
+			return removed;
+		}
+
+		@Override
+		public void clear() {
+			Comments.this.clear();
+		}
+
+	}
+
 }
@@ -0,0 +1,206 @@
+package com.gmail.justisroot.hmff;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.CRC32C;
+
+/**
+ * A compiled binary snapshot of a {@link HMFF} file, kept alongside it by {@link HMFF#compile()} and loaded by {@link LoadMode#COMPILED}.<br>
+ * <br>
+ * The snapshot begins with a header recording the size, modification time and checksum of the file it was compiled from, followed by a table
+ * of every distinct {@code String} and then one fixed size record per {@link Section}, in the order they appear in the file. Each record holds
+ * the {@link Section}'s depth, the indices of its key and value and the number of its comments, which are listed by index after the records.
+ * Loading maps the snapshot and builds the {@link Section}s straight from the records, without tokenizing any text.
+ */
+final class CompiledFile {
+
+	private static final int MAGIC = 0x484D4643, VERSION = 1;
+	private static final int HEADER_SIZE = 4 + 4 + 8 + 8 + 4 + 4 + 4 + 4 + 4 + 4 + 4;
+	private static final int RECORD_SIZE = 4 * 4;
+
+	private CompiledFile() { }
+
+	/**
+	 * Get the sidecar compiled snapshot {@linkplain File} for the provided {@link HMFF} file.
+	 *
+	 * @param base The {@link HMFF} file being compiled
+	 *
+	 * @return the compiled snapshot {@linkplain File}, which may not yet exist
+	 */
+	static File of(File base) {
+		return new File(base.getPath() + (base.getName().endsWith(".hmff") ? "c" : ".hmffc"));
+	}
+
+	/**
+	 * Write a compiled snapshot of the provided root's contents, recorded against the current state of the source file.
+	 *
+	 * @param root The root {@link Section}, whose contents must match the source file
+	 *
+	 * @param source The file the contents were loaded from
+	 *
+	 * @throws IOException if the source could not be read or the snapshot could not be written
+	 */
+	static void write(Section root, File source) throws IOException {
+		Map<String, Integer> ids = new HashMap<>();
+		List<String> strings = new ArrayList<>();
+		ByteArrayOutputStream records = new ByteArrayOutputStream(), comments = new ByteArrayOutputStream();
+		int sections = write(root, 0, ids, strings, new DataOutputStream(records), new DataOutputStream(comments));
+		int rootComments = 0;
+		if (root.comments != null) for (String comment : root.comments) {
+			new DataOutputStream(comments).writeInt(id(comment, ids, strings));
+			rootComments++;
+		}
+		byte[][] encoded = new byte[strings.size()][];
+		for (int i = 0; i < encoded.length; i++) encoded[i] = strings.get(i).getBytes(StandardCharsets.UTF_8);
+
+		ByteArrayOutputStream payload = new ByteArrayOutputStream();
+		DataOutputStream out = new DataOutputStream(payload);
+		int offset = 0;
+		for (byte[] string : encoded) {
+			out.writeInt(offset);
+			offset += string.length;
+		}
+		out.writeInt(offset);
+		for (byte[] string : encoded) out.write(string);
+		records.writeTo(out);
+		comments.writeTo(out);
+		out.flush();
+		byte[] body = payload.toByteArray();
+		CRC32C checksum = new CRC32C();
+		checksum.update(body);
+
+		File target = of(source), temporary = new File(target.getPath() + ".tmp");
+		try (DataOutputStream file = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temporary.toPath())))) {
+			file.writeInt(MAGIC);
+			file.writeInt(VERSION);
+			file.writeLong(source.length());
+			file.writeLong(source.lastModified());
+			file.writeInt(checksum(source));
+			file.writeInt(strings.size());
+			file.writeInt(offset);
+			file.writeInt(sections);
+			file.writeInt(comments.size() / 4);
+			file.writeInt(rootComments);
+			file.writeInt((int) checksum.getValue());
+			file.write(body);
+		}
+		Files.move(temporary.toPath(), target.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+	}
+
+	private static int write(Section section, int depth, Map<String, Integer> ids, List<String> strings, DataOutputStream records, DataOutputStream comments) throws IOException {
+		int sections = 0;
+		for (Section child : section.peekChildren().values()) {
+			int count = 0;
+			if (child.comments != null) for (String comment : child.comments) {
+				comments.writeInt(id(comment, ids, strings));
+				count++;
+			}
+			records.writeInt(depth);
+			records.writeInt(id(child.key, ids, strings));
+			records.writeInt(id(child.value, ids, strings));
+			records.writeInt(count);
+			sections += 1 + write(child, depth + 1, ids, strings, records, comments);
+		}
+		return sections;
+	}
+
+	private static int id(String string, Map<String, Integer> ids, List<String> strings) {
+		Integer id = ids.get(string);
+		if (id != null) return id;
+		ids.put(string, strings.size());
+		strings.add(string);
+		return strings.size() - 1;
+	}
+
+	/**
+	 * Build the {@link Section}s of the compiled snapshot onto the provided root, if the snapshot is intact and matches the source file.<br>
+	 * They are built under a detached root from {@link Section#newRoot()} and only moved onto the provided one once every record has been read,
+	 * so a snapshot which turns out to be malformed leaves the root untouched. Since they aren't added one by one, a root which keeps an index must be reindexed.
+	 *
+	 * @param source The file the snapshot must have been compiled from
+	 *
+	 * @param root The {@link Section} to add the top-level {@link Section}s to
+	 *
+	 * @return the trailing comments which no {@link Section} followed, or null if the snapshot is missing or stale
+	 */
+	static List<String> read(File source, Section root) {
+		File compiled = of(source);
+		if (!compiled.isFile()) return null;
+		try (FileChannel channel = FileChannel.open(compiled.toPath(), StandardOpenOption.READ)) {
+			if (channel.size() < HEADER_SIZE || channel.size() > Integer.MAX_VALUE) return null;
+			ByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+			if (buffer.getInt() != MAGIC || buffer.getInt() != VERSION) return null;
+			if (buffer.getLong() != source.length() || buffer.getLong() != source.lastModified()) return null;
+			int sourceChecksum = buffer.getInt();
+			int stringCount = buffer.getInt(), textSize = buffer.getInt(), sections = buffer.getInt(), commentCount = buffer.getInt(), rootComments = buffer.getInt();
+			int payloadChecksum = buffer.getInt();
+			long expected = HEADER_SIZE + 4L * (stringCount + 1) + textSize + (long) RECORD_SIZE * sections + 4L * commentCount;
+			if (stringCount < 0 || textSize < 0 || sections < 0 || commentCount < rootComments || rootComments < 0 || expected != channel.size()) return null;
+			CRC32C checksum = new CRC32C();
+			checksum.update(buffer.duplicate());
+			if ((int) checksum.getValue() != payloadChecksum || checksum(source) != sourceChecksum) return null;
+
+			String[] strings = strings(buffer, stringCount, textSize);
+			ByteBuffer records = buffer.slice();
+			ByteBuffer comments = buffer.duplicate().position(buffer.position() + RECORD_SIZE * sections).slice();
+			Section[] open = new Section[16];
+			open[0] = root.newRoot();
+			for (int i = 0, depth = 0; i < sections; i++) {
+				int next = records.getInt();
+				if (next < 0 || next > depth) return null; // only possible if written by something else, as the checksum matched
+				depth = next;
+				Section child = open[depth].addChild(strings[records.getInt()], strings[records.getInt()]);
+				int count = records.getInt();
+				if (count > 0) child.comments().set(comments(comments, count, strings));
+				if (depth + 2 > open.length) open = Arrays.copyOf(open, open.length * 2);
+				open[++depth] = child;
+			}
+			List<String> trailing = rootComments > 0 ? comments(comments, rootComments, strings) : Collections.emptyList();
+			if (root.adoptChildren(open[0])) root.modified();
+			return trailing;
+		} catch (IOException | RuntimeException e) {
+			return null;
+		}
+	}
+
+	private static String[] strings(ByteBuffer buffer, int count, int textSize) {
+		int[] offsets = new int[count + 1];
+		for (int i = 0; i <= count; i++) offsets[i] = buffer.getInt();
+		byte[] text = new byte[textSize];
+		buffer.get(text);
+		String[] strings = new String[count];
+		for (int i = 0; i < count; i++) strings[i] = new String(text, offsets[i], offsets[i + 1] - offsets[i], StandardCharsets.UTF_8);
+		return strings;
+	}
+
+	private static List<String> comments(ByteBuffer comments, int count, String[] strings) {
+		String[] list = new String[count];
+		for (int i = 0; i < count; i++) list[i] = strings[comments.getInt()];
+		return Arrays.asList(list);
+	}
+
+	/** Checksum the contents of the source file, by mapping it rather than reading it onto the heap **/
+	static int checksum(File source) throws IOException {
+		CRC32C checksum = new CRC32C();
+		try (FileChannel channel = FileChannel.open(source.toPath(), StandardOpenOption.READ)) {
+			checksum.update(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+		}
+		return (int) checksum.getValue();
+	}
+
+}
@@ -0,0 +1,115 @@
+package com.gmail.justisroot.hmff;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * An immutable path to a {@link Section}, built once and reused for any number of lookups.<br>
+ * <br>
+ * Passing a {@link CompiledPath} in place of {@code String} path segments avoids allocating a new varargs array for every call,
+ * which adds up on paths which are looked up frequently.
+ *
+ * <pre>
+ * static final CompiledPath PORT = CompiledPath.parse("server.port");
+ * ...
+ * int port = hmff.getInteger(PORT).orElse(8080);
+ * </pre>
+ */
+public final class CompiledPath {
+
+	static final char SEPARATOR = '.';
+
+	final String[] segments;
+
+	private final int hash;
+
+	/**
+	 * Create a new {@link CompiledPath} from the provided path segments.
+	 *
+	 * @param path The path to the {@link Section}<br>
+	 * e.g {@code ("path", "to", "section")}
+	 */
+	public CompiledPath(String... path) {
+		this.segments = path.clone();
+		for (String segment : this.segments) Objects.requireNonNull(segment, "path segment");
+		this.hash = Arrays.hashCode(this.segments);
+	}
+
+	private CompiledPath(String[] segments, int hash) {
+		this.segments = segments;
+		this.hash = hash;
+	}
+
+	/**
+	 * Wrap the provided path segments without copying or checking them, for paths which are only used internally.
+	 *
+	 * @param path The path segments, which must not be modified afterwards
+	 *
+	 * @return a {@link CompiledPath} backed by the provided array
+	 */
+	static CompiledPath wrap(String[] path) {
+		return new CompiledPath(path, Arrays.hashCode(path));
+	}
+
+	/**
+	 * Create a new {@link CompiledPath} from a path whose segments are separated by periods.<br>
+	 * Use {@link #CompiledPath(String...)} instead for keys which themselves contain periods.
+	 *
+	 * @param path The path to the {@link Section}<br>
+	 * e.g {@code "path.to.section"}
+	 *
+	 * @return a new {@link CompiledPath} for the provided path
+	 */
+	public static CompiledPath parse(String path) {
+		if (path.isEmpty()) return new CompiledPath();
+		return new CompiledPath(path.split("\\.", -1));
+	}
+
+	/**
+	 * Get the number of segments in this path.
+	 *
+	 * @return the number of {@link Section}s this path descends through
+	 */
+	public int length() {
+		return this.segments.length;
+	}
+
+	/**
+	 * Get the segment at the provided index.
+	 *
+	 * @param index The index of the segment, starting at the outermost {@link Section}
+	 *
+	 * @return the key/name of the {@link Section} at that depth of the path
+	 */
+	public String segment(int index) {
+		return this.segments[index];
+	}
+
+	/**
+	 * Get a copy of the segments of this path.
+	 *
+	 * @return a new array containing the segments of this path
+	 */
+	public String[] toArray() {
+		return this.segments.clone();
+	}
+
+	@Override
+	public boolean equals(Object obj) {
+		if (this == obj) return true;
+		if (!(obj instanceof CompiledPath)) return false;
+		CompiledPath other = (CompiledPath) obj;
+		return this.hash == other.hash && Arrays.equals(this.segments, other.segments);
+	}
+
+	@Override
+	public int hashCode() {
+		return this.hash;
+	}
+
+	@Override
+	public String toString() {
+		return String.join(String.valueOf(SEPARATOR), this.segments);
+	}
+
+}
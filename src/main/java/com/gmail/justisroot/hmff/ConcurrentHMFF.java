@@ -0,0 +1,209 @@
+package com.gmail.justisroot.hmff;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * A {@link HMFF} which may be read and modified from any number of threads at once.<br>
+ * <br>
+ * Reads, such as {@link #getString(String...)}, {@link #getSection(String...)}, the typed getters and iterating over {@link #children()}, never block.
+ * Each {@link Section}'s children are held in an insertion ordered map which is copied on every write and published whole,
+ * so readers always see a complete snapshot of it, while keys and values are read straight from their {@link Section}s.<br>
+ * <br>
+ * Modifications, including saving, synchronize on this {@link ConcurrentHMFF} and so are applied one at a time, in a single order every thread agrees on.
+ * A reload is parsed into a detached tree without holding the lock, and its top-level {@link Section}s are then added all at once, so readers see either none or all of them.
+ * Until then its maps of children are written in place, so loading costs no more than it would for a {@link HMFF}.<br>
+ * <br>
+ * Since every write copies a map of children, this suits files which are read far more often than they are modified.
+ * {@link LoadMode#LAZY} is not supported, and is loaded as {@link LoadMode#EAGER} instead.
+ * The maps returned by {@link #children()} are live, and writing to them directly bypasses the lock and the bookkeeping of the tree,
+ * so {@link Section}s must be added, renamed and removed through their methods.
+ */
+public class ConcurrentHMFF extends HMFF {
+
+	private final Object reloading = new Object();
+
+	/**
+	 * Create a {@link ConcurrentHMFF} interpretation for the provided {@linkplain File}, creating one if necessary.<br>
+	 * The file is read and written using the platform's default {@linkplain Charset}.
+	 *
+	 * @param file The {@linkplain File} to wrap and interpret
+	 */
+	public ConcurrentHMFF(File file) {
+		this(file, Charset.defaultCharset());
+	}
+
+	/**
+	 * Create a {@link ConcurrentHMFF} interpretation for the provided {@linkplain File}, creating one if necessary.
+	 *
+	 * @param file The {@linkplain File} to wrap and interpret
+	 *
+	 * @param charset The {@linkplain Charset} used to read and write the file
+	 */
+	public ConcurrentHMFF(File file, Charset charset) {
+		this(file, charset, LoadMode.EAGER);
+	}
+
+	/**
+	 * Create a {@link ConcurrentHMFF} interpretation for the provided {@linkplain File}, creating one if necessary.
+	 *
+	 * @param file The {@linkplain File} to wrap and interpret
+	 *
+	 * @param charset The {@linkplain Charset} used to read and write the file
+	 *
+	 * @param loadMode The {@link LoadMode} used to load the file, where {@link LoadMode#LAZY} is treated as {@link LoadMode#EAGER}
+	 */
+	public ConcurrentHMFF(File file, Charset charset, LoadMode loadMode) {
+		super(file, charset, supported(loadMode), new CopyOnWriteMap<>());
+	}
+
+	/**
+	 * {@inheritDoc}<br>
+	 * <br>
+	 * {@link LoadMode#LAZY} is not supported, and is treated as {@link LoadMode#EAGER}.
+	 */
+	@Override
+	public void setLoadMode(LoadMode loadMode) {
+		super.setLoadMode(supported(loadMode));
+	}
+
+	private static LoadMode supported(LoadMode loadMode) {
+		return loadMode == LoadMode.LAZY ? LoadMode.EAGER : loadMode;
+	}
+
+	/**
+	 * {@inheritDoc}<br>
+	 * <br>
+	 * Readers see either none or all of the loaded top-level {@link Section}s.
+	 */
+	@Override
+	public boolean reload() {
+		Object lock = this.reloading;
+		if (lock == null) return super.reload(); // still being constructed, so nothing else can see it yet
+		synchronized (lock) {
+			return super.reload();
+		}
+	}
+
+	/**
+	 * {@inheritDoc}<br>
+	 * <br>
+	 * Readers see either none or all of the loaded top-level {@link Section}s.
+	 */
+	@Override
+	public boolean reload(ByteBuffer buffer, Charset charset) {
+		Object lock = this.reloading;
+		if (lock == null) return super.reload(buffer, charset);
+		synchronized (lock) {
+			return super.reload(buffer, charset);
+		}
+	}
+
+	/**
+	 * {@inheritDoc}<br>
+	 * <br>
+	 * Readers see either none or all of the loaded top-level {@link Section}s.
+	 */
+	@Override
+	public boolean reload(BufferedReader reader) {
+		Object lock = this.reloading;
+		if (lock == null) return super.reload(reader);
+		synchronized (lock) {
+			return super.reload(reader);
+		}
+	}
+
+	/**
+	 * {@inheritDoc}<br>
+	 * <br>
+	 * Returns a detached root from {@link #newRoot()}, so that loading never locks or modifies this {@link ConcurrentHMFF}.
+	 */
+	@Override
+	Section stage() {
+		return newRoot();
+	}
+
+	@Override
+	synchronized void publish(Section staged, List<String> comments) {
+		if (staged != this) {
+			Map<String, Section> sections = staged.peekChildren();
+			for (Section section : sections.values()) {
+				Section previous = this.children.get(section.key);
+				if (previous != null) detached(previous);
+				((ConcurrentSection) adopt(section)).publish();
+			}
+			this.children.putAll(sections);
+			for (Section section : sections.values()) attached(section);
+			if (!sections.isEmpty()) modified();
+		}
+		super.publish(staged, comments);
+	}
+
+	@Override
+	Section newChild(String key, String value) {
+		return new ConcurrentSection(this, key, value);
+	}
+
+	@Override
+	Section newRoot() {
+		return ConcurrentSection.staged(getKey());
+	}
+
+	@Override
+	public Comments comments() {
+		Comments comments = this.comments;
+		if (comments != null) return comments;
+		synchronized (this) {
+			return super.comments();
+		}
+	}
+
+	@Override
+	synchronized Section addChild(Section child) {
+		return super.addChild(child);
+	}
+
+	@Override
+	synchronized void modified() {
+		super.modified();
+	}
+
+	@Override
+	synchronized void assign(String value, String[] path) {
+		super.assign(value, path);
+	}
+
+	@Override
+	synchronized void rename(String name, String[] path) {
+		super.rename(name, path);
+	}
+
+	@Override
+	synchronized void remove(String[] path) {
+		super.remove(path);
+	}
+
+	@Override
+	Section getOrCreate(String value, String[] path) {
+		Section section = find(path);
+		if (section != null) return section;
+		synchronized (this) {
+			return super.getOrCreate(value, path);
+		}
+	}
+
+	@Override
+	Section getOrCreate(Supplier<String> value, String[] path) {
+		Section section = find(path);
+		if (section != null) return section;
+		synchronized (this) {
+			return super.getOrCreate(value, path);
+		}
+	}
+
+}
@@ -0,0 +1,122 @@
+package com.gmail.justisroot.hmff;
+
+import java.util.function.Supplier;
+
+/**
+ * A {@link Section} of a {@link ConcurrentHMFF}, whose children are held in a {@link CopyOnWriteMap} so they can be read and iterated without locking.<br>
+ * Every modification synchronizes on the root, so that writes to the whole tree are applied one at a time.<br>
+ * <br>
+ * {@link Section}s loaded under a root from {@link #newRoot()} hold staged maps, which are written in place rather than copied,
+ * until {@link #publish()} is called as they are moved onto the real root.
+ */
+final class ConcurrentSection extends Section {
+
+	ConcurrentSection(Section parent, String key, String value) {
+		this(parent, key, value, parent != null && ((CopyOnWriteMap<String, Section>) parent.children).isStaged());
+	}
+
+	private ConcurrentSection(Section parent, String key, String value, boolean staged) {
+		super(parent, key, value, new CopyOnWriteMap<>(staged));
+	}
+
+	/**
+	 * Create a detached root whose descendants hold staged maps, so that loading onto it costs no more than loading onto a {@link Section}.
+	 *
+	 * @param key The key/name of the root
+	 *
+	 * @return a new, staged {@link ConcurrentSection} without a parent
+	 */
+	static Section staged(String key) {
+		return new ConcurrentSection(null, key, "", true);
+	}
+
+	/**
+	 * Publish the staged map of this {@link Section} and of every {@link Section} beneath it, so that they copy on write from now on.
+	 */
+	void publish() {
+		CopyOnWriteMap<String, Section> children = (CopyOnWriteMap<String, Section>) this.children;
+		if (!children.isStaged()) return;
+		children.publish();
+		for (Section child : children.values()) ((ConcurrentSection) child).publish();
+	}
+
+	@Override
+	Section newChild(String key, String value) {
+		return new ConcurrentSection(this, key, value);
+	}
+
+	@Override
+	Section newRoot() {
+		return staged(this.key);
+	}
+
+	@Override
+	public Comments comments() {
+		Comments comments = this.comments;
+		if (comments != null) return comments;
+		synchronized (getRoot()) {
+			return super.comments();
+		}
+	}
+
+	@Override
+	Section addChild(Section child) {
+		synchronized (getRoot()) {
+			return super.addChild(child);
+		}
+	}
+
+	@Override
+	void modified() {
+		synchronized (getRoot()) {
+			super.modified();
+		}
+	}
+
+	@Override
+	void setValue(String value) {
+		synchronized (getRoot()) {
+			super.setValue(value);
+		}
+	}
+
+	@Override
+	void assign(String value, String[] path) {
+		synchronized (getRoot()) {
+			super.assign(value, path);
+		}
+	}
+
+	@Override
+	void rename(String key, String[] path) {
+		synchronized (getRoot()) {
+			super.rename(key, path);
+		}
+	}
+
+	@Override
+	void remove(String[] path) {
+		synchronized (getRoot()) {
+			super.remove(path);
+		}
+	}
+
+	@Override
+	Section getOrCreate(String value, String[] path) {
+		Section section = find(path);
+		if (section != null) return section;
+		synchronized (getRoot()) {
+			return super.getOrCreate(value, path);
+		}
+	}
+
+	@Override
+	Section getOrCreate(Supplier<String> value, String[] path) {
+		Section section = find(path);
+		if (section != null) return section;
+		synchronized (getRoot()) {
+			return super.getOrCreate(value, path);
+		}
+	}
+
+}
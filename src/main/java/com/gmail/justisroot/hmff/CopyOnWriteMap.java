@@ -0,0 +1,160 @@
+package com.gmail.justisroot.hmff;
+
+import java.util.AbstractMap;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * An insertion ordered {@linkplain Map} which is never modified in place, holding the children of a {@link ConcurrentSection}.<br>
+ * <br>
+ * Every write copies the current contents and publishes the copy through a volatile reference, so reads and iteration never block
+ * and always see a complete snapshot. Writes are serialized, and cost a copy of the map, which suits the small, rarely modified maps of a {@link Section}.<br>
+ * <br>
+ * A staged map, holding the children of a {@link Section} loaded under a detached root, is written in place instead,
+ * as no other thread can see it yet. It copies on write from then on once {@link #publish()} is called.
+ *
+ * @param <K> The type of keys
+ * @param <V> The type of values
+ */
+final class CopyOnWriteMap<K, V> extends AbstractMap<K, V> {
+
+	private volatile Map<K, V> map;
+	private boolean staged;
+
+	CopyOnWriteMap() {
+		this(false);
+	}
+
+	/**
+	 * Create an empty map.
+	 *
+	 * @param staged Whether the map should be written in place until {@link #publish()} is called
+	 */
+	CopyOnWriteMap(boolean staged) {
+		this.staged = staged;
+		this.map = staged ? new LinkedHashMap<>() : Collections.emptyMap();
+	}
+
+	/**
+	 * Check whether this map is still written in place.
+	 *
+	 * @return true if {@link #publish()} has yet to be called on this staged map, false otherwise
+	 */
+	boolean isStaged() {
+		return this.staged;
+	}
+
+	/**
+	 * Stop writing this map in place, so that it may be shared with other threads.<br>
+	 * Does nothing unless the map is staged.
+	 */
+	synchronized void publish() {
+		if (!this.staged) return;
+		this.staged = false;
+		this.map = Collections.unmodifiableMap(this.map);
+	}
+
+	@Override
+	public V get(Object key) {
+		return this.map.get(key);
+	}
+
+	@Override
+	public boolean containsKey(Object key) {
+		return this.map.containsKey(key);
+	}
+
+	@Override
+	public int size() {
+		return this.map.size();
+	}
+
+	@Override
+	public boolean isEmpty() {
+		return this.map.isEmpty();
+	}
+
+	@Override
+	public Set<Entry<K, V>> entrySet() {
+		return this.map.entrySet();
+	}
+
+	@Override
+	public Set<K> keySet() {
+		return this.map.keySet();
+	}
+
+	@Override
+	public Collection<V> values() {
+		return this.map.values();
+	}
+
+	@Override
+	public synchronized V put(K key, V value) {
+		if (this.staged) return this.map.put(key, value);
+		Map<K, V> copy = new LinkedHashMap<>(this.map);
+		V previous = copy.put(key, value);
+		this.map = Collections.unmodifiableMap(copy);
+		return previous;
+	}
+
+	@Override
+	public synchronized void putAll(Map<? extends K, ? extends V> map) {
+		if (map.isEmpty()) return;
+		if (this.staged) {
+			this.map.putAll(map);
+			return;
+		}
+		Map<K, V> copy = new LinkedHashMap<>(this.map);
+		copy.putAll(map);
+		this.map = Collections.unmodifiableMap(copy);
+	}
+
+	@Override
+	public synchronized V remove(Object key) {
+		if (!this.map.containsKey(key)) return null;
+		if (this.staged) return this.map.remove(key);
+		Map<K, V> copy = new LinkedHashMap<>(this.map);
+		V previous = copy.remove(key);
+		this.map = Collections.unmodifiableMap(copy);
+		return previous;
+	}
+
+	/**
+	 * Move a value from one key to another in a single write, so that readers see it under either the old key or the new one, but never neither.
+	 *
+	 * @param from The key to remove
+	 *
+	 * @param to The key to put the value under, at the end of the iteration order
+	 *
+	 * @param value The value to put
+	 *
+	 * @return the value previously held under the new key, or null if there was none
+	 */
+	synchronized V replaceKey(K from, K to, V value) {
+		Map<K, V> copy = this.staged ? this.map : new LinkedHashMap<>(this.map);
+		copy.remove(from);
+		V previous = copy.put(to, value);
+		if (!this.staged) this.map = Collections.unmodifiableMap(copy);
+		return previous;
+	}
+
+	/**
+	 * Replace the entire contents with those of the provided map, in a single write.
+	 *
+	 * @param map The mappings to hold from now on
+	 */
+	synchronized void replace(Map<? extends K, ? extends V> map) {
+		Map<K, V> copy = new LinkedHashMap<>(map);
+		this.map = this.staged ? copy : Collections.unmodifiableMap(copy);
+	}
+
+	@Override
+	public synchronized void clear() {
+		this.map = this.staged ? new LinkedHashMap<>() : Collections.emptyMap();
+	}
+
+}
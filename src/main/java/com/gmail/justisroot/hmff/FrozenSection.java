@@ -0,0 +1,79 @@
+package com.gmail.justisroot.hmff;
+
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * An immutable copy of a {@link Section}, making up a snapshot taken by {@link HMFF#snapshot()}.<br>
+ * <br>
+ * A {@link FrozenSection} has no parent, so that a subtree which hasn't changed can be shared by any number of snapshots.
+ * Reading works as it does for any other {@link Section}, while any attempt to modify it throws an {@linkplain UnsupportedOperationException}.
+ */
+final class FrozenSection extends Section {
+
+	/**
+	 * Create a copy of the provided {@link Section}, holding the provided map of frozen children as it is.
+	 *
+	 * @param source The {@link Section} to copy the key, value and {@link Comments} of
+	 *
+	 * @param children The frozen children, in a map which is never modified again
+	 */
+	FrozenSection(Section source, Map<String, Section> children) {
+		super(null, source.key, source.value, children);
+		this.comments = source.comments != null ? source.comments.frozen() : Comments.FROZEN_EMPTY;
+	}
+
+	@Override
+	Section freeze() {
+		return this;
+	}
+
+	@Override
+	public void deduplicate(StringTable strings) {
+		throw unsupported();
+	}
+
+	@Override
+	Section addChild(Section child) {
+		throw unsupported();
+	}
+
+	@Override
+	void setValue(String value) {
+		throw unsupported();
+	}
+
+	@Override
+	void assign(String value, String[] path) {
+		throw unsupported();
+	}
+
+	@Override
+	void rename(String key, String[] path) {
+		throw unsupported();
+	}
+
+	@Override
+	void remove(String[] path) {
+		throw unsupported();
+	}
+
+	@Override
+	Section getOrCreate(String value, String[] path) {
+		Section section = find(path);
+		if (section == null) throw unsupported();
+		return section;
+	}
+
+	@Override
+	Section getOrCreate(Supplier<String> value, String[] path) {
+		Section section = find(path);
+		if (section == null) throw unsupported();
+		return section;
+	}
+
+	private static UnsupportedOperationException unsupported() {
+		return new UnsupportedOperationException("Snapshots cannot be modified");
+	}
+
+}
@@ -1,38 +1,120 @@
 package com.gmail.justisroot.hmff;
 
 import java.io.BufferedReader;
-import java.io.ByteArrayInputStream;
+import java.io.BufferedWriter;
 import java.io.File;
 import java.io.FileWriter;
 import java.io.IOException;
 import java.io.InputStream;
-import java.io.InputStreamReader;
-import java.io.RandomAccessFile;
-import java.nio.MappedByteBuffer;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
 import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CodingErrorAction;
 import java.nio.file.Files;
 import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
-import java.util.regex.Pattern;
-import java.util.stream.Collectors;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
 
 public class HMFF extends Section {
 
-	static final Pattern NON_VALUE_MATCH_REGEX = Pattern.compile(".*?" + VALUE_SEPARATOR + "\\s?");
+	/**
+	 * The default number of bytes a file must reach before {@link LoadMode#PARALLEL} splits it across threads.
+	 */
+	public static final long DEFAULT_PARALLEL_THRESHOLD = 1 << 22;
+
+	/**
+	 * The default number of bytes past which a journal is folded into its file.
+	 */
+	public static final long DEFAULT_JOURNAL_SIZE = 1 << 20;
+
+	/**
+	 * The default ratio of a journal's size to its file's size past which the journal is folded into the file.
+	 */
+	public static final double DEFAULT_JOURNAL_RATIO = 0.25;
+
+	private static final int BUFFER_SIZE = 8192;
+	private static final int OPTIMISTIC_ATTEMPTS = 8;
 
 	private File file;
+	private Charset charset;
+	private LoadMode loadMode;
+	private long parallelThreshold = DEFAULT_PARALLEL_THRESHOLD;
+
+	private String lineSeparator = "\n";
+	private boolean terminated;
+
+	private volatile long modifications;
+	private long saved;
+	private long savedLength = -1, savedTime;
+
+	private volatile Autosave autosave;
+
+	private Journal journal;
+	private long journaled;
+
+	private volatile Map<CompiledPath, Section> index;
+
+	private volatile StringTable strings;
+
+	private volatile Notifier notifier;
+	private final AtomicInteger batches = new AtomicInteger();
 
 	/**
-	 * Create a {@link HMFF} interpretation for the provided {@linkplain File}, creating one if necessary.
+	 * Create a {@link HMFF} interpretation for the provided {@linkplain File}, creating one if necessary.<br>
+	 * The file is read and written using the platform's default {@linkplain Charset}.
 	 *
 	 * @param file The {@linkplain File} to wrap and interpret
 	 */
 	public HMFF(File file) {
-		super(file.getName().substring(0, file.getName().indexOf(".") > 0 ? file.getName().indexOf(".") : 0));
+		this(file, Charset.defaultCharset());
+	}
+
+	/**
+	 * Create a {@link HMFF} interpretation for the provided {@linkplain File}, creating one if necessary.
+	 *
+	 * @param file The {@linkplain File} to wrap and interpret
+	 *
+	 * @param charset The {@linkplain Charset} used to read and write the file
+	 */
+	public HMFF(File file, Charset charset) {
+		this(file, charset, LoadMode.EAGER);
+	}
+
+	/**
+	 * Create a {@link HMFF} interpretation for the provided {@linkplain File}, creating one if necessary.
+	 *
+	 * @param file The {@linkplain File} to wrap and interpret
+	 *
+	 * @param charset The {@linkplain Charset} used to read and write the file
+	 *
+	 * @param loadMode The {@link LoadMode} used to load the file
+	 */
+	public HMFF(File file, Charset charset, LoadMode loadMode) {
+		this(file, charset, loadMode, new LinkedHashMap<>());
+	}
+
+	HMFF(File file, Charset charset, LoadMode loadMode, Map<String, Section> children) {
+		super(null, file.getName().substring(0, file.getName().indexOf(".") > 0 ? file.getName().indexOf(".") : 0), "", children);
 		this.file = file;
+		this.charset = charset;
+		this.loadMode = loadMode;
 		reload();
 	}
 
@@ -52,6 +134,84 @@ public class HMFF extends Section {
 		super.set(value, path);
 	}
 
+	@Override
+	Section find(String[] path) {
+		Map<CompiledPath, Section> index = this.index;
+		if (index == null) return super.find(path);
+		Section section = index.get(CompiledPath.wrap(path));
+		return section != null ? section : super.find(path);
+	}
+
+	@Override
+	public Section find(CompiledPath path) {
+		Map<CompiledPath, Section> index = this.index;
+		if (index == null) return super.find(path);
+		Section section = index.get(path);
+		return section != null ? section : super.find(path);
+	}
+
+	@Override
+	void attached(Section section) {
+		if (this.index != null && isAttached(section)) index(section, pathOf(section));
+	}
+
+	@Override
+	void detached(Section section) {
+		if (this.index != null) unindex(section, pathOf(section));
+	}
+
+	@Override
+	void assign(String value, String[] path) {
+		long before = this.modifications;
+		super.assign(value, path);
+		journal(before, Journal.SET, path, value);
+	}
+
+	@Override
+	void remove(String[] path) {
+		long before = this.modifications;
+		super.remove(path);
+		journal(before, Journal.REMOVE, path, null);
+	}
+
+	@Override
+	void rename(String name, String[] path) {
+		long before = this.modifications;
+		super.rename(name, path);
+		journal(before, Journal.RENAME, path, name);
+	}
+
+	@Override
+	Section getOrCreate(String value, String[] path) {
+		long before = this.modifications;
+		Section section = super.getOrCreate(value, path);
+		journal(before, Journal.SET, path, section.getValue());
+		return section;
+	}
+
+	@Override
+	Section getOrCreate(Supplier<String> value, String[] path) {
+		long before = this.modifications;
+		Section section = super.getOrCreate(value, path);
+		journal(before, Journal.SET, path, section.getValue());
+		return section;
+	}
+
+	/**
+	 * {@inheritDoc}<br>
+	 * <br>
+	 * Change listeners are notified of every field written as a single batch.
+	 */
+	@Override
+	public void unbind(Object value, String... path) {
+		beginBatch();
+		try {
+			super.unbind(value, path);
+		} finally {
+			endBatch();
+		}
+	}
+
 	/**
 	 * Get the raw {@linkplain File} object wrapped by this {@link HMFF} instance.<br>
 	 *
@@ -68,25 +228,195 @@ public class HMFF extends Section {
 	 */
 	public void setFile(File file) {
 		this.file = file;
+		this.savedLength = -1;
+	}
+
+	/**
+	 * Get the {@linkplain Charset} used to read and write the file wrapped by this {@link HMFF} instance.
+	 *
+	 * @return The {@linkplain Charset} of the wrapped file
+	 */
+	public Charset getCharset() {
+		return charset;
+	}
+
+	/**
+	 * Set the {@linkplain Charset} used to read and write the file wrapped by this {@link HMFF} instance.<br>
+	 * Takes effect on the next {@link #reload()} or {@link #save()}.
+	 *
+	 * @param charset The {@linkplain Charset} of the wrapped file
+	 */
+	public void setCharset(Charset charset) {
+		this.charset = charset;
+		this.savedLength = -1;
+	}
+
+	/**
+	 * Get the {@link LoadMode} used to load the file wrapped by this {@link HMFF} instance.
+	 *
+	 * @return The {@link LoadMode} of the wrapped file
+	 */
+	public LoadMode getLoadMode() {
+		return loadMode;
+	}
+
+	/**
+	 * Set the {@link LoadMode} used to load the file wrapped by this {@link HMFF} instance.<br>
+	 * Takes effect on the next {@link #reload()}.
+	 *
+	 * @param loadMode The {@link LoadMode} of the wrapped file
+	 */
+	public void setLoadMode(LoadMode loadMode) {
+		this.loadMode = loadMode;
+	}
+
+	/**
+	 * Get the number of bytes a file must reach before {@link LoadMode#PARALLEL} splits it across threads.
+	 *
+	 * @return The parallel loading threshold, in bytes
+	 */
+	public long getParallelThreshold() {
+		return parallelThreshold;
+	}
+
+	/**
+	 * Set the number of bytes a file must reach before {@link LoadMode#PARALLEL} splits it across threads.<br>
+	 * Below this size, the file is loaded on the calling thread.
+	 *
+	 * @param parallelThreshold The parallel loading threshold, in bytes
+	 */
+	public void setParallelThreshold(long parallelThreshold) {
+		this.parallelThreshold = parallelThreshold;
+	}
+
+	/**
+	 * Get the {@link StringTable} shared by every load of this {@link HMFF} instance.
+	 *
+	 * @return the shared {@link StringTable}, or null if each load is deduplicated against a fresh one
+	 */
+	public StringTable getStringTable() {
+		return strings;
+	}
+
+	/**
+	 * Set the {@link StringTable} which the keys and values of every load of this {@link HMFF} instance are deduplicated against.<br>
+	 * Sharing a single {@link StringTable} between {@link HMFF} instances with similar contents lets them share their repeated keys and values as well.
+	 *
+	 * @param strings The {@link StringTable} to share, or null to deduplicate each load against a fresh one
+	 */
+	public void setStringTable(StringTable strings) {
+		this.strings = strings;
+	}
+
+	/**
+	 * Get the {@link StringTable} to deduplicate a load against.
+	 *
+	 * @return the shared {@link StringTable}, or a fresh one if there is none
+	 */
+	StringTable strings() {
+		StringTable strings = this.strings;
+		return strings != null ? strings : new StringTable();
+	}
+
+	/**
+	 * {@inheritDoc}<br>
+	 * <br>
+	 * Uses the {@link StringTable} set by {@link #setStringTable(StringTable)}, if there is one.
+	 */
+	@Override
+	public void deduplicate() {
+		deduplicate(strings());
 	}
 
 	/**
 	 * Load the file's contents into memory.<br>
 	 * <br>
 	 * Overwrites any existing contents in memory.<br>
-	 * Gets the file from disk or generates one if it doesn't exist.
+	 * Gets the file from disk or generates one if it doesn't exist.<br>
+	 * Unless loading {@link LoadMode#LAZY lazily}, the file is memory mapped and tokenized in place, without copying its raw contents onto the heap.
 	 *
 	 * @return true if the file contents were successfully loaded into memory, false otherwise
 	 */
 	public boolean reload() {
+		ensure(this.file);
+		beginBatch();
 		try {
-			ensure(this.file);
-			RandomAccessFile raf = new RandomAccessFile(this.file, "r");
-			MappedByteBuffer buffer = raf.getChannel().map(FileChannel.MapMode.READ_ONLY, 0, raf.length()).load();
-			byte[] array = new byte[buffer.capacity()];
-			buffer.get(array);
-			raf.close();
-			return reload(new BufferedReader(new InputStreamReader(new ByteArrayInputStream(array))));
+			boolean dirty = isDirty();
+			long length = this.file.length(), time = this.file.lastModified();
+			boolean loaded = read();
+			if (this.journal != null) loaded = replay(this.journal) && (loaded || length == 0);
+			if (!dirty && (loaded || length == 0)) markClean(length, time);
+			if (!dirty) this.journaled = this.modifications;
+			return loaded;
+		} finally {
+			endBatch();
+		}
+	}
+
+	private boolean read() {
+		this.lineSeparator = "\n";
+		this.terminated = false;
+		if (this.loadMode == LoadMode.LAZY && Tokenizer.isAsciiCompatible(this.charset)) return reloadLazily();
+		if (this.loadMode == LoadMode.COMPILED) {
+			Section staged = stage();
+			List<String> comments = CompiledFile.read(this.file, staged);
+			if (comments != null) {
+				if (staged == this && this.index != null) reindex();
+				publish(staged, comments);
+				return true;
+			}
+		}
+		try (FileChannel channel = FileChannel.open(this.file.toPath(), StandardOpenOption.READ)) {
+			ByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+			if (this.loadMode == LoadMode.PARALLEL && buffer.remaining() >= this.parallelThreshold && Tokenizer.isAsciiCompatible(this.charset)) {
+				Section staged = stage();
+				List<String> comments = ParallelLoader.load(staged, buffer, this.charset, this::strings);
+				if (staged == this && this.index != null) reindex();
+				publish(staged, comments);
+				return true;
+			}
+			return reload(buffer, this.charset);
+		} catch (IOException e) {
+			return false;
+		}
+	}
+
+	/**
+	 * Index the file's top-level {@link Section}s, keeping its raw contents on the heap until each one is built.<br>
+	 * The contents are copied rather than mapped, so that saving or external changes to the file can never invalidate them.
+	 * The file's line terminator, and whether it ends with one, are kept too, so that the untouched sections are written back byte for byte.
+	 */
+	private boolean reloadLazily() {
+		try {
+			byte[] source = Files.readAllBytes(this.file.toPath());
+			if (source.length == 0) return false;
+			this.lineSeparator = LazySection.separator(source);
+			this.terminated = source[source.length - 1] == '\n' || source[source.length - 1] == '\r';
+			List<String> comments = LazySection.index(this, source, this.charset, strings());
+			if (!comments.isEmpty()) this.comments().set(comments);
+			return true;
+		} catch (IOException e) {
+			return false;
+		}
+	}
+
+	/**
+	 * Load the contents of the {@linkplain ByteBuffer} into memory, decoding them with the provided {@linkplain Charset}.<br>
+	 * <br>
+	 * Overwrites any existing contents in memory.<br>
+	 * The buffer's remaining bytes are consumed directly, so a mapped or direct buffer is never copied onto the heap.
+	 *
+	 * @param buffer The buffer to load into memory
+	 *
+	 * @param charset The {@linkplain Charset} the buffer's contents are encoded with
+	 *
+	 * @return true if the buffer contents were successfully loaded into memory, false otherwise
+	 */
+	public boolean reload(ByteBuffer buffer, Charset charset) {
+		try {
+			if (!buffer.hasRemaining()) return false;
+			load(new HMFFReader(new Tokenizer(buffer, charset).deduplicate(strings()), null, 0));
+			return true;
 		} catch (IOException e) {
 			return false;
 		}
@@ -104,38 +434,154 @@ public class HMFF extends Section {
 	public boolean reload(BufferedReader reader) {
 		try {
 			if (!reader.ready()) return false;
-			List<String> comments = new ArrayList<>();
-			Section parent = this;
-			for (String line = reader.readLine(); line != null; line = reader.readLine()) {
-				String trimmed = line.trim();
-				if (trimmed.isEmpty()) continue;
-				else if (trimmed.charAt(0) == COMMENT_INDICATOR) comments.add(line.charAt(1) == ' ' ? line.substring(2) : line.substring(1));
-				else {
-					parent = parentFor(line, parent).addChild(trimmed.substring(0, trimmed.indexOf(":")), NON_VALUE_MATCH_REGEX.matcher(line).replaceFirst(""));
-					parent.comments().set(comments);
-					comments.clear();
-				}
-			}
+			load(new HMFFReader(new Tokenizer(reader).deduplicate(strings()), reader, 0));
 			return true;
 		} catch (IOException e) {
 			return false;
 		}
 	}
 
-	private static Section parentFor(String line, Section current) {
-		for (Section parent = current; parent.parent().isPresent(); parent = parent.parent().get()) {
-			if (parent instanceof HMFF) return parent;
-			String indent = new String(new char[parent.countParents()]).replace("\0", TAB);
-			if (line.startsWith(indent)) return parent;
+	private void load(HMFFReader reader) throws IOException {
+		beginBatch();
+		try {
+			Section staged = stage();
+			publish(staged, load(reader, new Section[] {staged}));
+		} finally {
+			endBatch();
+		}
+	}
+
+	/**
+	 * Get the {@link Section} to load top-level {@link Section}s onto, which are then passed to {@link #publish(Section, List)}.
+	 *
+	 * @return this {@link HMFF}, so that {@link Section}s are added as they are loaded
+	 */
+	Section stage() {
+		return this;
+	}
+
+	/**
+	 * Finish loading onto the {@link Section} provided by {@link #stage()}.
+	 *
+	 * @param staged The {@link Section} the top-level {@link Section}s were loaded onto
+	 *
+	 * @param comments The trailing comments which no {@link Section} followed
+	 */
+	void publish(Section staged, List<String> comments) {
+		this.frozen = null;
+		if (!comments.isEmpty()) this.comments().set(comments);
+	}
+
+	/**
+	 * Get an immutable snapshot of the current contents, which is unaffected by any later modification or reload.<br>
+	 * <br>
+	 * The snapshot is a tree of {@link Section}s which can be read like any other, though they have no parents and throw
+	 * {@linkplain UnsupportedOperationException} if modified. Snapshots share every subtree which hasn't changed between them,
+	 * so after a modification only the {@link Section}s from the modified one up to the root are copied again.<br>
+	 * <br>
+	 * While nothing has been modified, the same snapshot is returned without locking, so readers can cheaply take one per request
+	 * and read a consistent version throughout. Taking a snapshot after a modification synchronizes on this {@link HMFF} instance.<br>
+	 * <br>
+	 * A {@link HMFF} isn't otherwise thread safe, so if snapshots are taken while another thread modifies it, that thread must synchronize on this
+	 * {@link HMFF} instance too, or write through {@link #update(Consumer)}. Otherwise a snapshot built while the modification is made may be cached
+	 * after the modification cleared it, and returned by every later call until something else is modified. A {@link ConcurrentHMFF} already does so.
+	 *
+	 * @return an immutable snapshot of the root {@link Section}
+	 */
+	public Section snapshot() {
+		Section snapshot = this.frozen;
+		if (snapshot != null) return snapshot;
+		synchronized (this) {
+			return freeze();
+		}
+	}
+
+	/**
+	 * Build the {@link Section}s reported by the reader onto the stack of {@link Section}s it begins nested within.<br>
+	 * Comments are attached to the {@link Section} that follows them.
+	 *
+	 * @return the trailing comments which no {@link Section} followed
+	 */
+	static List<String> load(HMFFReader reader, Section[] open) throws IOException {
+		List<String> comments = new ArrayList<>();
+		while (reader.hasNext()) {
+			switch (reader.next()) {
+				case COMMENT:
+					comments.add(reader.getComment());
+					break;
+				case START_SECTION:
+					int depth = reader.getDepth();
+					Section child = open[depth].addChild(reader.getKey(), reader.getValue());
+					if (!comments.isEmpty()) {
+						child.comments().set(comments);
+						comments.clear();
+					}
+					if (depth + 1 == open.length) open = Arrays.copyOf(open, open.length * 2);
+					open[depth + 1] = child;
+					break;
+				default:
+					break;
+			}
 		}
-		return current.getRoot();
+		return comments;
 	}
 
+	/**
+	 * Get the lines of the in-memory structure, as they will appear when the memory contents are saved.
+	 *
+	 * @return An unmodifiable {@code List<String>} of the lines of the in-memory structure
+	 */
 	public List<String> getLines() {
-		List<String> contents = new ArrayList<>();
-		for (Section child : children.values()) contents.addAll(child.getLines(0));
-		for (String comment : this.comments) contents.add(COMMENT_INDICATOR + " " + comment);
-		return Collections.unmodifiableList(contents);
+		String contents = toString();
+		if (contents.isEmpty()) return Collections.emptyList();
+		String[] lines = contents.split("\r\n|[\n\r]", -1);
+		return List.of(this.terminated ? Arrays.copyOf(lines, lines.length - 1) : lines);
+	}
+
+	/**
+	 * Write the in-memory structure to the provided {@linkplain Appendable}, such as a {@linkplain java.io.Writer Writer} or {@linkplain StringBuilder}.<br>
+	 * <br>
+	 * The structure is walked once and written as it goes, without collecting any intermediate lines.<br>
+	 * This is how the file will appear when the memory contents are saved.
+	 *
+	 * @param out The {@linkplain Appendable} to write to
+	 *
+	 * @throws IOException if the {@linkplain Appendable} could not be written to
+	 */
+	public void writeTo(Appendable out) throws IOException {
+		LineWriter writer = new LineWriter(out, this.lineSeparator);
+		for (Section child : peekChildren().values()) child.write(writer, 0);
+		if (this.comments != null) for (String comment : this.comments) writer.line(0).append(COMMENT_INDICATOR).append(' ').append(comment);
+		writer.finish(this.terminated);
+	}
+
+	/**
+	 * Write the in-memory structure to the provided {@linkplain WritableByteChannel}, encoded with this {@link HMFF}'s {@linkplain Charset}.<br>
+	 * The channel is left open.
+	 *
+	 * @param channel The {@linkplain WritableByteChannel} to write to
+	 *
+	 * @throws IOException if the channel could not be written to
+	 */
+	public void writeTo(WritableByteChannel channel) throws IOException {
+		writeTo(channel, this.charset);
+	}
+
+	/**
+	 * Write the in-memory structure to the provided {@linkplain WritableByteChannel}, encoded with the provided {@linkplain Charset}.<br>
+	 * The contents pass through a single, fixed size encoding buffer, and the channel is left open.
+	 *
+	 * @param channel The {@linkplain WritableByteChannel} to write to
+	 *
+	 * @param charset The {@linkplain Charset} to encode the contents with
+	 *
+	 * @throws IOException if the channel could not be written to
+	 */
+	public void writeTo(WritableByteChannel channel, Charset charset) throws IOException {
+		CharsetEncoder encoder = charset.newEncoder().onMalformedInput(CodingErrorAction.REPLACE).onUnmappableCharacter(CodingErrorAction.REPLACE);
+		Writer writer = Channels.newWriter(channel, encoder, BUFFER_SIZE);
+		writeTo(writer);
+		writer.flush();
 	}
 
 	/**
@@ -147,18 +593,457 @@ public class HMFF extends Section {
 	 */
 	@Override
 	public String toString() {
-		return getLines().stream().collect(Collectors.joining("\n"));
+		StringBuilder builder = new StringBuilder();
+		try {
+			writeTo(builder);
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+		return builder.toString();
 	}
 
 	/**
 	 * Writes all the current contents of memory to disk.<br>
-	 * Overwrites any and all existing contents of the file.
+	 * Overwrites any and all existing contents of the file.<br>
+	 * <br>
+	 * Does nothing if the contents of memory are unmodified since they were last loaded or saved, and the file has not changed since.
 	 *
 	 * @return true if the file write was successful, false otherwise
 	 */
-	public boolean save() {
-		List<String> lines = getLines();
-		return save(lines.toArray(new String[lines.size()]));
+	public synchronized boolean save() {
+		if (!isDirty() && this.file.length() == this.savedLength && this.file.lastModified() == this.savedTime) return true;
+		if (this.journal != null && this.journaled == this.modifications && !this.journal.isDue(this.file.length())) {
+			try {
+				this.journal.flush();
+			} catch (IOException e) {
+				return false;
+			}
+			this.saved = this.modifications;
+			return true;
+		}
+		ensure(this.file);
+		try (FileChannel channel = FileChannel.open(this.file.toPath(), StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+			writeTo(channel);
+		} catch (IOException e) {
+			return false;
+		}
+		markClean(this.file.length(), this.file.lastModified());
+		if (this.journal == null) return true;
+		this.journaled = this.modifications;
+		try {
+			this.journal.clear();
+			return true;
+		} catch (IOException e) {
+			return false;
+		}
+	}
+
+	/**
+	 * Modify several {@link Section}s together, so that they are applied all at once.<br>
+	 * <br>
+	 * The provided function builds a batch of modifications on a {@link Transaction}, reading through {@link Transaction#snapshot()} if necessary.
+	 * The batch is then committed while synchronized on this {@link HMFF} instance, but only if nothing has been modified since the attempt began.
+	 * Otherwise the function is run again against the new contents, so it should have no effects beyond building the {@link Transaction}.
+	 * After repeated conflicts, the function is run while holding the lock instead, so that it is guaranteed to commit.<br>
+	 * <br>
+	 * Readers reading through {@link #snapshot()} see either none or all of a committed {@link Transaction}, as do other writers going through this method.
+	 * Modifications made directly on this {@link HMFF} are not excluded while a {@link Transaction} is applied, and readers of the live tree may see part of one.
+	 *
+	 * @param transaction The function which builds the {@link Transaction}
+	 */
+	public void update(Consumer<Transaction> transaction) {
+		update(transaction, false);
+	}
+
+	/**
+	 * Modify several {@link Section}s together, so that they are applied all at once, optionally saving them in the same step.
+	 *
+	 * @param transaction The function which builds the {@link Transaction}
+	 *
+	 * @param save Whether to {@link #save()} the contents as part of the commit, before any other modification can be made
+	 *
+	 * @return true if the commit was saved successfully or did not need saving, false otherwise
+	 *
+	 * @see #update(Consumer)
+	 */
+	public boolean update(Consumer<Transaction> transaction, boolean save) {
+		for (int attempt = 0; attempt < OPTIMISTIC_ATTEMPTS; attempt++) {
+			Transaction attempted = new Transaction(snapshot());
+			transaction.accept(attempted);
+			synchronized (this) {
+				if (this.frozen == attempted.snapshot()) return commit(attempted, save);
+			}
+		}
+		synchronized (this) {
+			Transaction attempted = new Transaction(snapshot());
+			transaction.accept(attempted);
+			return commit(attempted, save);
+		}
+	}
+
+	private boolean commit(Transaction transaction, boolean save) {
+		beginBatch();
+		try {
+			transaction.apply((operation, path, argument) -> {
+				if (operation == Journal.SET) assign(argument, path);
+				else if (operation == Journal.REMOVE) remove(path);
+				else if (operation == Journal.RENAME) rename(argument, path);
+			});
+		} finally {
+			endBatch();
+		}
+		return !save || save();
+	}
+
+	/**
+	 * Listen for changes to the {@link Section} at the specified path, or to any {@link Section} beneath it.<br>
+	 * <br>
+	 * Setting values, adding, removing and renaming {@link Section}s and reloading are all reported, as a list of each {@link Change} to a value.
+	 * Listeners are not called by the modifying thread, but on the executor set by {@link #setChangeExecutor(Executor)},
+	 * and every modification made before they are called is coalesced into a single list. A {@link #update(Consumer) transaction} or reload
+	 * is always reported as a whole, while changes made directly to the map returned by {@link #children()} are not reported until something else is modified.<br>
+	 * <br>
+	 * Changes are found by comparing {@link #snapshot() snapshots}, which synchronizes on this {@link HMFF} instance from the executor's thread,
+	 * so callers modifying it from multiple threads should synchronize on it as well.<br>
+	 * <br>
+	 * A listener is only told of changes made after it was added. Any exception it throws is passed to the executor thread's uncaught exception handler.
+	 *
+	 * @param listener The listener to call with the changes
+	 *
+	 * @param path The path to the {@link Section} to listen to, or nothing to listen to every {@link Section}
+	 */
+	public void onChange(Consumer<List<Change>> listener, String... path) {
+		onChange(listener, new CompiledPath(path));
+	}
+
+	/**
+	 * Listen for changes to the {@link Section} at the specified path, or to any {@link Section} beneath it.
+	 *
+	 * @param listener The listener to call with the changes
+	 *
+	 * @param path The path to the {@link Section} to listen to
+	 *
+	 * @see #onChange(Consumer, String...)
+	 */
+	public void onChange(Consumer<List<Change>> listener, CompiledPath path) {
+		notifier().register(listener, path);
+	}
+
+	/**
+	 * Stop calling the provided listener, for every path it was listening to.
+	 *
+	 * @param listener The listener to remove
+	 *
+	 * @return true if the listener was listening, false otherwise
+	 */
+	public boolean removeChangeListener(Consumer<List<Change>> listener) {
+		Notifier notifier = this.notifier;
+		return notifier != null && notifier.unregister(listener);
+	}
+
+	/**
+	 * Set the {@linkplain Executor} which change listeners are called on.<br>
+	 * By default they are called on a single daemon thread shared by every {@link HMFF} instance.
+	 *
+	 * @param executor The {@linkplain Executor} to call change listeners on, or null to use the default
+	 */
+	public void setChangeExecutor(Executor executor) {
+		notifier().setExecutor(executor);
+	}
+
+	private Notifier notifier() {
+		Notifier notifier = this.notifier;
+		if (notifier != null) return notifier;
+		synchronized (this) {
+			if (this.notifier == null) this.notifier = new Notifier(this);
+			return this.notifier;
+		}
+	}
+
+	/**
+	 * Check whether a batch of modifications, such as a reload or a committing {@link Transaction}, is still being applied.
+	 *
+	 * @return true if listeners should wait for the batch to finish, false otherwise
+	 */
+	boolean isBatching() {
+		return this.batches.get() > 0;
+	}
+
+	private void beginBatch() {
+		this.batches.incrementAndGet();
+	}
+
+	private void endBatch() {
+		Notifier notifier = this.notifier;
+		if (this.batches.decrementAndGet() == 0 && notifier != null) notifier.schedule();
+	}
+
+	/**
+	 * Record modifications to an append-only journal alongside the file, rather than rewriting the whole file on every {@link #save()}.<br>
+	 * <br>
+	 * Setting values, including through {@code getOrSet} methods which create a {@link Section}, removing and renaming {@link Section}s through this {@link HMFF}
+	 * each append a record proportional to the change. Saving then only flushes the journal, which {@link #reload()} replays over the file.
+	 * Any other modification, such as one made through a child {@link Section} or to {@link Comments}, is written by rewriting the whole file on the next save.<br>
+	 * <br>
+	 * Once the journal grows past the provided size, or past the provided ratio of the file's size, the next save folds it into a freshly written file.<br>
+	 * Records already in an existing journal are replayed immediately.
+	 *
+	 * @param maxSize The number of bytes past which the journal is folded into the file
+	 *
+	 * @param maxRatio The ratio of the journal's size to the file's size past which the journal is folded into the file
+	 */
+	public synchronized void enableJournal(long maxSize, double maxRatio) {
+		if (this.journal != null) disableJournal();
+		Journal journal = new Journal(Journal.of(this.file), maxSize, maxRatio);
+		boolean dirty = isDirty();
+		long modifications = this.modifications;
+		replay(journal);
+		if (!dirty) unmodified(modifications);
+		this.journaled = dirty ? this.saved - 1 : this.modifications;
+		this.journal = journal;
+	}
+
+	/**
+	 * Record modifications to an append-only journal alongside the file, which is folded into the file once it reaches 1 MiB or a quarter of the file's size.
+	 *
+	 * @see #enableJournal(long, double)
+	 */
+	public void enableJournal() {
+		enableJournal(DEFAULT_JOURNAL_SIZE, DEFAULT_JOURNAL_RATIO);
+	}
+
+	/**
+	 * Stop journaling modifications, folding any journaled modifications into the file and removing the journal.
+	 *
+	 * @return true if the journal was folded into the file and removed successfully, false otherwise
+	 */
+	public synchronized boolean disableJournal() {
+		if (this.journal == null) return true;
+		boolean compacted = compact();
+		try {
+			this.journal.delete();
+		} catch (IOException e) {
+			compacted = false;
+		}
+		this.journal = null;
+		return compacted;
+	}
+
+	/**
+	 * Fold the journal into the file, rewriting the file with all the current contents of memory and emptying the journal.
+	 *
+	 * @return true if the file write was successful, false otherwise
+	 */
+	public synchronized boolean compact() {
+		this.savedLength = -1;
+		this.journaled = this.saved - 1;
+		return save();
+	}
+
+	/**
+	 * Write a compiled binary snapshot of the current contents alongside the file, which {@link LoadMode#COMPILED} then loads without parsing any text.<br>
+	 * <br>
+	 * The contents of memory are saved first, folding in any journal, so that the snapshot matches the file exactly.
+	 * The snapshot records the size, modification time and checksum of the file, and is ignored once the file no longer matches them.
+	 * It is not kept up to date by later saves, so should be compiled again once the file has settled.
+	 *
+	 * @return true if the file and snapshot were both written successfully, false otherwise
+	 */
+	public synchronized boolean compile() {
+		if (!(this.journal != null ? compact() : save())) return false;
+		try {
+			CompiledFile.write(this, this.file);
+			return true;
+		} catch (IOException e) {
+			return false;
+		}
+	}
+
+	private boolean replay(Journal journal) {
+		try {
+			journal.replay((operation, path, argument) -> {
+				if (operation == Journal.SET) super.assign(argument, path);
+				else if (operation == Journal.REMOVE) super.remove(path);
+				else if (operation == Journal.RENAME) super.rename(argument, path);
+			});
+			return true;
+		} catch (IOException e) {
+			return false;
+		}
+	}
+
+	private void journal(long before, byte operation, String[] path, String argument) {
+		if (this.journal == null || this.modifications == before) return;
+		try {
+			this.journal.append(operation, path, argument);
+			if (this.journaled == before) this.journaled = this.modifications;
+		} catch (IOException e) {
+			// left behind, so the next save rewrites the whole file instead
+		}
+	}
+
+	/**
+	 * Keep an index mapping the full path of every {@link Section} straight to the {@link Section}, so that lookups take a single hash probe regardless of depth.<br>
+	 * <br>
+	 * Adding, removing and renaming {@link Section}s, as well as reloading, keep the index up to date,
+	 * while changes made directly to the map returned by {@link #children()} are not reflected in it.
+	 * Paths missing from the index are still looked up in the tree, so {@link Section}s of a {@link LoadMode#LAZY} file are indexed once they are first built.<br>
+	 * <br>
+	 * The index costs an entry per {@link Section}, and makes adding and removing {@link Section}s proportionally more expensive.
+	 */
+	public void enableIndex() {
+		if (this.index == null) reindex();
+	}
+
+	/**
+	 * Stop indexing the paths of {@link Section}s, discarding the index.
+	 */
+	public void disableIndex() {
+		this.index = null;
+	}
+
+	private void reindex() {
+		this.index = new ConcurrentHashMap<>();
+		for (Section child : peekChildren().values()) index(child, new String[] {child.key});
+	}
+
+	/** Check that the top-level {@link Section} above the provided one is attached to this root, rather than still being staged **/
+	private boolean isAttached(Section section) {
+		while (section.parent != null && section.parent != this) section = section.parent;
+		return peekChildren().get(section.key) == section;
+	}
+
+	/** Get the path from the root to the provided {@link Section} **/
+	private String[] pathOf(Section section) {
+		String[] path = new String[section.depth];
+		for (int i = path.length - 1; i >= 0; i--, section = section.parent) path[i] = section.key;
+		return path;
+	}
+
+	/** Index the provided {@link Section} and every built {@link Section} beneath it **/
+	private void index(Section section, String[] path) {
+		this.index.put(CompiledPath.wrap(path), section);
+		if (section.children != null) for (Section child : section.children.values()) index(child, append(path, child.key));
+	}
+
+	/** Remove the provided {@link Section} and every built {@link Section} beneath it from the index, unless another has since taken its place **/
+	private void unindex(Section section, String[] path) {
+		this.index.remove(CompiledPath.wrap(path), section);
+		if (section.children != null) for (Section child : section.children.values()) unindex(child, append(path, child.key));
+	}
+
+	static String[] append(String[] path, String key) {
+		String[] appended = Arrays.copyOf(path, path.length + 1);
+		appended[path.length] = key;
+		return appended;
+	}
+
+	/**
+	 * Writes all the current contents of memory to disk, only if they have been modified since they were last loaded or saved.
+	 *
+	 * @return true if the file write was successful or unnecessary, false otherwise
+	 */
+	public boolean saveIfDirty() {
+		return !isDirty() || save();
+	}
+
+	/**
+	 * Check whether the contents of memory have been modified since they were last loaded from or saved to disk.<br>
+	 * <br>
+	 * Setting values, adding, removing or renaming {@link Section}s and editing {@link Comments} are all tracked,
+	 * while changes made directly to the map returned by {@link #children()} are not.
+	 *
+	 * @return true if the contents of memory have unsaved modifications, false otherwise
+	 */
+	public boolean isDirty() {
+		return this.modifications != this.saved;
+	}
+
+	/**
+	 * Save modifications in the background, at most once per the provided interval, replacing any previous autosave interval.<br>
+	 * <br>
+	 * Each modification marks the contents as dirty, and the first one after a save schedules the next save an interval later.
+	 * Everything modified in the meantime is written along with it. Whatever remains unsaved is also written when the JVM shuts down.<br>
+	 * <br>
+	 * Autosaving reads the contents from a background thread while holding this {@link HMFF} instance's lock,
+	 * so callers modifying it from multiple threads should synchronize on it as well.
+	 *
+	 * @param interval The minimum time between saves
+	 *
+	 * @param unit The {@linkplain TimeUnit} of the interval
+	 */
+	public void enableAutosave(long interval, TimeUnit unit) {
+		Autosave autosave = new Autosave(this, interval, unit);
+		disableAutosave();
+		autosave.start();
+		this.autosave = autosave;
+		if (isDirty()) autosave.schedule();
+	}
+
+	/**
+	 * Stop saving modifications in the background, writing out any that are still unsaved.
+	 */
+	public void disableAutosave() {
+		Autosave autosave = this.autosave;
+		if (autosave == null) return;
+		this.autosave = null;
+		autosave.stop();
+		flush();
+	}
+
+	/**
+	 * Synchronously write out any unsaved modifications, such as those waiting on autosave.
+	 *
+	 * @return true if the file write was successful or unnecessary, false otherwise
+	 */
+	public synchronized boolean flush() {
+		return saveIfDirty();
+	}
+
+	@Override
+	void modified() {
+		super.modified();
+		this.modifications++;
+		Autosave autosave = this.autosave;
+		if (autosave != null) autosave.schedule();
+		Notifier notifier = this.notifier;
+		if (notifier != null && !isBatching()) notifier.schedule();
+	}
+
+	/**
+	 * Forget any modifications made since the count was taken, as they did not change the contents, such as when building a {@link LazySection}.
+	 *
+	 * @param modifications The count of modifications to compare to
+	 */
+	void unmodified(long modifications) {
+		if (this.saved == modifications) this.saved = this.modifications;
+	}
+
+	/**
+	 * Get the current count of modifications.
+	 *
+	 * @return the number of tracked modifications made so far
+	 */
+	long modifications() {
+		return this.modifications;
+	}
+
+	/**
+	 * Get a count which changes whenever the contents of memory are modified or reloaded.<br>
+	 * <br>
+	 * Values read from this {@link HMFF} remain current for as long as the count is unchanged,
+	 * so they can be cached and read again only once it moves on, as the accessors generated from {@link HMFFConfig} interfaces do.
+	 *
+	 * @return the number of modifications made so far
+	 */
+	public long getModificationCount() {
+		return this.modifications;
+	}
+
+	private void markClean(long length, long time) {
+		this.saved = this.modifications;
+		this.savedLength = length;
+		this.savedTime = time;
 	}
 
 	/**
@@ -186,10 +1071,11 @@ public class HMFF extends Section {
 	public boolean save(boolean overwrite, String... lines) {
 		ensure(this.file);
 		if (this.file.length() > 0 && !overwrite) return false;
-		try (FileWriter fw = new FileWriter(this.file, false)) {
+		this.savedLength = -1;
+		try (Writer writer = new BufferedWriter(new FileWriter(this.file, this.charset, false), BUFFER_SIZE)) {
 			for (int i = 0; i < lines.length; i++) {
-				if (i + 1 == lines.length) fw.write(lines[i]);
-				else fw.write(lines[i] + "\n");
+				if (i > 0) writer.write('\n');
+				writer.write(lines[i]);
 			}
 			return true;
 		} catch (IOException e) {
@@ -222,6 +1108,7 @@ public class HMFF extends Section {
 	public boolean save(boolean overwrite, InputStream is) {
 		if (is == null || !overwrite && file.length() > 0) return false;
 		ensure(this.file);
+		this.savedLength = -1;
 		try {
 			Files.copy(is, file.getAbsoluteFile().toPath(), StandardCopyOption.REPLACE_EXISTING);
 			return true;
@@ -0,0 +1,320 @@
+package com.gmail.justisroot.hmff;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A cache of parsed HMFF files, so that loading the same file again only parses it once for as long as it is unchanged.<br>
+ * <br>
+ * Each file is cached under its canonical path and {@linkplain Charset}, along with its size and modification time when it was parsed.
+ * A lookup checks the file against both, and parses it again if either has changed since. As a file could be changed again without changing
+ * its size within the resolution of its modification time, a file which was modified less than {@value #TIME_GRANULARITY} milliseconds
+ * before it was last checked has its checksum compared as well, until a check finds it unchanged after that window has passed.
+ * Concurrent lookups of a file which needs parsing wait for a single one of them to parse it.
+ * The parsed contents are handed out as a read only snapshot, like those of {@link HMFF#snapshot()}, so any number of callers can share
+ * a single copy. Any attempt to modify it throws an {@linkplain UnsupportedOperationException}, so use {@link Section#copyTo(Section)}
+ * to bring part of it into a {@link HMFF} to modify it.<br>
+ * <br>
+ * The cache is bounded by an estimate of the memory its contents take up, evicting the least recently used files once it is exceeded.
+ * Files which would exceed it on their own are parsed but never cached. Each file is deduplicated against a {@link StringTable} of its own,
+ * which is counted towards the estimate and released along with the file.<br>
+ * <br>
+ * A cache is safe to share between threads, and {@link #shared()} provides one for the whole process.
+ */
+public final class HMFFCache {
+
+	/**
+	 * The default number of bytes the contents of a cache may be estimated to take up.
+	 */
+	public static final long DEFAULT_MAX_BYTES = 64L << 20;
+
+	private static final HMFFCache SHARED = new HMFFCache(DEFAULT_MAX_BYTES);
+
+	/**
+	 * The number of milliseconds within which a file's modification time may not change when it is modified, being the coarsest resolution in common use.
+	 */
+	public static final long TIME_GRANULARITY = 2000;
+
+	/** The estimated size of a {@link Section} and its entry in its parent's map, excluding its {@code String}s **/
+	private static final int SECTION_BYTES = 112;
+
+	/** The estimated size of the slots a {@link StringTable} keeps for each of its {@code String}s **/
+	private static final int STRING_SLOT_BYTES = 16;
+
+	private final Map<String, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+	private final Map<String, Object> loading = new HashMap<>();
+
+	private volatile long maxBytes;
+	private long bytes, hits, misses, evictions;
+
+	/**
+	 * Create an empty {@link HMFFCache} whose contents may be estimated to take up to the provided number of bytes.
+	 *
+	 * @param maxBytes The number of bytes past which the least recently used files are evicted
+	 */
+	public HMFFCache(long maxBytes) {
+		this.maxBytes = maxBytes;
+	}
+
+	/**
+	 * Get the {@link HMFFCache} shared by the whole process, which is bounded by {@value #DEFAULT_MAX_BYTES} bytes unless changed.
+	 *
+	 * @return the shared {@link HMFFCache}
+	 */
+	public static HMFFCache shared() {
+		return SHARED;
+	}
+
+	/**
+	 * Get the contents of the provided {@linkplain File}, using the platform's default {@linkplain Charset}.
+	 *
+	 * @param file The {@linkplain File} to read
+	 *
+	 * @return a read only snapshot of the file's contents
+	 *
+	 * @throws UncheckedIOException if the file could not be read
+	 *
+	 * @see #get(File, Charset)
+	 */
+	public Section get(File file) {
+		return get(file, Charset.defaultCharset());
+	}
+
+	/**
+	 * Get the contents of the provided {@linkplain File}, parsing it only if it isn't cached or has changed since it was cached.
+	 *
+	 * @param file The {@linkplain File} to read
+	 *
+	 * @param charset The {@linkplain Charset} the file is encoded with
+	 *
+	 * @return a read only snapshot of the file's contents
+	 *
+	 * @throws UncheckedIOException if the file could not be read
+	 */
+	public Section get(File file, Charset charset) {
+		try {
+			String key = file.getCanonicalPath() + '\0' + charset.name();
+			Section cached = lookup(key, file);
+			if (cached != null) return cached;
+			Object lock;
+			synchronized (this) {
+				lock = this.loading.computeIfAbsent(key, k -> new Object());
+			}
+			try {
+				synchronized (lock) { // concurrent misses wait for the first one to parse the file, then find it cached
+					cached = lookup(key, file);
+					return cached != null ? cached : load(key, file, charset);
+				}
+			} finally {
+				synchronized (this) {
+					this.loading.remove(key, lock);
+				}
+			}
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	/**
+	 * Remove the provided {@linkplain File} from this cache, in every {@linkplain Charset} it was cached in.
+	 *
+	 * @param file The {@linkplain File} to remove
+	 *
+	 * @return true if the file was cached, false otherwise
+	 */
+	public boolean invalidate(File file) {
+		String prefix;
+		try {
+			prefix = file.getCanonicalPath() + '\0';
+		} catch (IOException e) {
+			return false;
+		}
+		boolean removed = false;
+		synchronized (this) {
+			for (Iterator<Map.Entry<String, Entry>> iterator = this.entries.entrySet().iterator(); iterator.hasNext(); ) {
+				Map.Entry<String, Entry> entry = iterator.next();
+				if (!entry.getKey().startsWith(prefix)) continue;
+				this.bytes -= entry.getValue().weight;
+				iterator.remove();
+				removed = true;
+			}
+		}
+		return removed;
+	}
+
+	/**
+	 * Remove every file from this cache. The hit and miss counts are kept.
+	 */
+	public synchronized void clear() {
+		this.entries.clear();
+		this.bytes = 0;
+	}
+
+	/**
+	 * Get the number of bytes the contents of this cache may be estimated to take up.
+	 *
+	 * @return the number of bytes past which the least recently used files are evicted
+	 */
+	public long getMaxBytes() {
+		return this.maxBytes;
+	}
+
+	/**
+	 * Set the number of bytes the contents of this cache may be estimated to take up, evicting the least recently used files if it is now exceeded.
+	 *
+	 * @param maxBytes The number of bytes past which the least recently used files are evicted
+	 */
+	public synchronized void setMaxBytes(long maxBytes) {
+		this.maxBytes = maxBytes;
+		trim();
+	}
+
+	/**
+	 * Get the number of files currently cached.
+	 *
+	 * @return the number of cached files
+	 */
+	public synchronized int size() {
+		return this.entries.size();
+	}
+
+	/**
+	 * Get the estimated number of bytes taken up by the files currently cached.
+	 *
+	 * @return the estimated size of the cached contents
+	 */
+	public synchronized long bytes() {
+		return this.bytes;
+	}
+
+	/**
+	 * Get the number of lookups which found an unchanged file already cached.
+	 *
+	 * @return the number of cache hits
+	 */
+	public synchronized long hits() {
+		return this.hits;
+	}
+
+	/**
+	 * Get the number of lookups which had to parse the file, because it wasn't cached or had changed.
+	 *
+	 * @return the number of cache misses
+	 */
+	public synchronized long misses() {
+		return this.misses;
+	}
+
+	/**
+	 * Get the number of files which were evicted to stay within {@link #getMaxBytes()}.
+	 *
+	 * @return the number of evictions
+	 */
+	public synchronized long evictions() {
+		return this.evictions;
+	}
+
+	@Override
+	public synchronized String toString() {
+		return "HMFFCache[size=" + this.entries.size() + ", bytes=" + this.bytes + ", hits=" + this.hits + ", misses=" + this.misses + ", evictions=" + this.evictions + "]";
+	}
+
+	private void trim() {
+		for (Iterator<Entry> iterator = this.entries.values().iterator(); this.bytes > this.maxBytes && iterator.hasNext(); ) {
+			this.bytes -= iterator.next().weight;
+			iterator.remove();
+			this.evictions++;
+		}
+	}
+
+	/** Get the cached contents of the file, or null if it isn't cached or has changed since, counting a hit if it is found **/
+	private Section lookup(String key, File file) throws IOException {
+		long length = file.length(), time = file.lastModified(), checked = System.currentTimeMillis();
+		Entry entry;
+		synchronized (this) {
+			entry = this.entries.get(key);
+		}
+		if (entry == null || entry.length != length || entry.time != time) return null;
+		if (!entry.settled) {
+			if (entry.checksum != CompiledFile.checksum(file)) return null;
+			if (checked - time > TIME_GRANULARITY) entry.settled = true; // any later change would have to change the modification time
+		}
+		synchronized (this) {
+			this.hits++;
+		}
+		return entry.root;
+	}
+
+	private Section load(String key, File file, Charset charset) throws IOException {
+		// fingerprinted before parsing, so a change made in between is only ever seen as stale
+		long length = file.length(), time = file.lastModified(), checked = System.currentTimeMillis();
+		boolean settled = checked - time > TIME_GRANULARITY;
+		int checksum = settled ? 0 : CompiledFile.checksum(file);
+		StringTable strings = new StringTable();
+		Section root = parse(file, charset, strings);
+		long weight = weigh(root) + (long) STRING_SLOT_BYTES * strings.size();
+		synchronized (this) {
+			this.misses++;
+			Entry previous = this.entries.remove(key);
+			if (previous != null) this.bytes -= previous.weight;
+			if (weight <= this.maxBytes) {
+				this.entries.put(key, new Entry(root, length, time, checksum, settled, weight));
+				this.bytes += weight;
+				trim();
+			}
+		}
+		return root;
+	}
+
+	private static Section parse(File file, Charset charset, StringTable strings) throws IOException {
+		String name = file.getName();
+		Section root = new Section(name.substring(0, name.indexOf(".") > 0 ? name.indexOf(".") : 0));
+		try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+			ByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+			if (buffer.hasRemaining()) {
+				List<String> comments = HMFF.load(new HMFFReader(new Tokenizer(buffer, charset).deduplicate(strings), null, 0), new Section[] {root});
+				if (!comments.isEmpty()) root.comments().set(comments);
+			}
+		}
+		return root.freeze();
+	}
+
+	/** Estimate the bytes taken up by a tree, counting deduplicated {@code String}s as if they weren't **/
+	private static long weigh(Section section) {
+		long weight = SECTION_BYTES + 2L * (section.key.length() + section.value.length());
+		if (section.comments != null) for (String comment : section.comments) weight += 48 + 2L * comment.length();
+		for (Section child : section.peekChildren().values()) weight += weigh(child);
+		return weight;
+	}
+
+	private static final class Entry {
+
+		final Section root;
+		final long length, time, weight;
+		final int checksum;
+
+		/** Whether the file was last found unchanged long enough after its modification time that only the time and size need checking **/
+		volatile boolean settled;
+
+		Entry(Section root, long length, long time, int checksum, boolean settled, long weight) {
+			this.root = root;
+			this.length = length;
+			this.time = time;
+			this.checksum = checksum;
+			this.settled = settled;
+			this.weight = weight;
+		}
+
+	}
+
+}
@@ -0,0 +1,52 @@
+package com.gmail.justisroot.hmff;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks an interface whose methods read values from a {@link HMFF}, for which the HMFF annotation processor generates an implementation.<br>
+ * <br>
+ * Each abstract method, and each default method annotated with {@link HMFFPath}, reads the value at the path given by its {@link HMFFPath},
+ * or at its own name if it has none. Methods take no parameters, and return a {@code String}, a primitive or a primitive wrapper.
+ * A default method's body provides the value used when its path is missing, while an abstract method throws a
+ * {@linkplain java.util.NoSuchElementException NoSuchElementException} instead.<br>
+ * <br>
+ * The generated class implements the interface, and is constructed from the {@link HMFF} to read.
+ * It compiles each path once, and parses every value together the first time one is read after the {@link HMFF} is modified or reloaded,
+ * so that reading a value otherwise costs no more than reading a field.
+ *
+ * <pre>
+ * &#64;HMFFConfig(path = "server")
+ * public interface ServerConfig {
+ *     String host();
+ *     &#64;HMFFPath("port")
+ *     default int port() { return 8080; }
+ * }
+ * ...
+ * ServerConfig config = new ServerConfigAccessor(hmff);
+ * int port = config.port();
+ * </pre>
+ */
+@Documented
+@Retention(RetentionPolicy.CLASS)
+@Target(ElementType.TYPE)
+public @interface HMFFConfig {
+
+	/**
+	 * The path every method's path is relative to, with segments separated by periods.
+	 *
+	 * @return the path to the {@link Section} holding the values, or an empty {@code String} for the root
+	 */
+	String path() default "";
+
+	/**
+	 * The simple name of the generated class, which is placed in the same package as the interface.
+	 *
+	 * @return the name of the generated class, or an empty {@code String} to append {@code Accessor} to the interface's name
+	 */
+	String name() default "";
+
+}
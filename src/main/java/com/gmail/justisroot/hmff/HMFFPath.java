@@ -0,0 +1,25 @@
+package com.gmail.justisroot.hmff;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Sets the path a method of a {@link HMFFConfig} interface reads its value from,
+ * or that a field is read from and written to by {@link Section#bind(Class, String...)} and {@link Section#unbind(Object, String...)}.
+ */
+@Documented
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.METHOD, ElementType.FIELD})
+public @interface HMFFPath {
+
+	/**
+	 * The path to read the value from, relative to {@link HMFFConfig#path()} or the {@link Section} being bound, with segments separated by periods.
+	 *
+	 * @return the path to the {@link Section} holding the value
+	 */
+	String value();
+
+}
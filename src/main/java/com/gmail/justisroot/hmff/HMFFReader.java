@@ -0,0 +1,229 @@
+package com.gmail.justisroot.hmff;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+
+/**
+ * A forward-only, pull style reader for HMFF formatted contents.<br>
+ * <br>
+ * Rather than building {@link Section}s, each call to {@link #next()} reports the next {@link Event}, leaving its details available through the getters.<br>
+ * Memory use is bound by the longest line and the deepest nesting, regardless of the size of the input.<br>
+ * <br>
+ * Comments are reported as they are read and describe the {@link Event#START_SECTION} that follows them,
+ * which may come after the {@link Event#END_SECTION}s of the {@link Section}s preceding it.
+ */
+public final class HMFFReader implements Closeable {
+
+	/**
+	 * The events reported by a {@link HMFFReader}.
+	 */
+	public enum Event {
+
+		/**
+		 * A {@link Section} has begun. Its key, value and depth are available.
+		 */
+		START_SECTION,
+
+		/**
+		 * A comment has been read. Its text and indentation are available.
+		 */
+		COMMENT,
+
+		/**
+		 * A {@link Section} and all of its children have ended. Its key and depth are available.
+		 */
+		END_SECTION
+
+	}
+
+	private final Tokenizer tokenizer;
+	private final Closeable source;
+	private final int base;
+
+	private String[] keys = new String[16];
+	private int open, target;
+	private Event pending, event;
+
+	private String key, value, comment;
+	private int depth;
+
+	/**
+	 * Create a {@link HMFFReader} for the contents of the provided {@linkplain Reader}.
+	 *
+	 * @param reader The {@linkplain Reader} to read from
+	 */
+	public HMFFReader(Reader reader) {
+		this(new Tokenizer(reader), reader, 0);
+	}
+
+	/**
+	 * Create a {@link HMFFReader} for the contents of the provided {@linkplain InputStream}.
+	 *
+	 * @param stream The {@linkplain InputStream} to read from
+	 *
+	 * @param charset The {@linkplain Charset} the stream's contents are encoded with
+	 */
+	public HMFFReader(InputStream stream, Charset charset) {
+		this(new InputStreamReader(stream, charset));
+	}
+
+	/**
+	 * Create a {@link HMFFReader} for the contents of the provided {@linkplain FileChannel}, from its current position onwards.<br>
+	 * The channel is memory mapped, so its contents are never copied onto the heap as raw bytes.
+	 *
+	 * @param channel The {@linkplain FileChannel} to read from
+	 *
+	 * @param charset The {@linkplain Charset} the channel's contents are encoded with
+	 *
+	 * @throws IOException if the channel could not be mapped
+	 */
+	public HMFFReader(FileChannel channel, Charset charset) throws IOException {
+		this(new Tokenizer(channel.map(FileChannel.MapMode.READ_ONLY, channel.position(), channel.size() - channel.position()), charset), channel, 0);
+	}
+
+	/**
+	 * Create a {@link HMFFReader} for the remaining contents of the provided {@linkplain ByteBuffer}.
+	 *
+	 * @param buffer The {@linkplain ByteBuffer} to read from
+	 *
+	 * @param charset The {@linkplain Charset} the buffer's contents are encoded with
+	 */
+	public HMFFReader(ByteBuffer buffer, Charset charset) {
+		this(new Tokenizer(buffer, charset), null, 0);
+	}
+
+	/**
+	 * Create a {@link HMFFReader} over tokenized contents which are already nested within the provided number of {@link Section}s.<br>
+	 * Those {@link Section}s are never reported as ended.
+	 */
+	HMFFReader(Tokenizer tokenizer, Closeable source, int depth) {
+		this.tokenizer = tokenizer;
+		this.source = source;
+		this.base = this.open = this.target = depth;
+		if (depth >= this.keys.length) this.keys = new String[depth * 2];
+	}
+
+	/**
+	 * Check whether there are any more {@link Event}s to read.
+	 *
+	 * @return true if {@link #next()} has another {@link Event} to report, false otherwise
+	 *
+	 * @throws IOException if the underlying input could not be read
+	 */
+	public boolean hasNext() throws IOException {
+		if (this.pending != null || this.open > this.target) return true;
+		if (this.tokenizer.next()) {
+			if (this.tokenizer.isComment()) this.pending = Event.COMMENT;
+			else {
+				this.pending = Event.START_SECTION;
+				this.target = Math.max(this.base, Math.min(this.tokenizer.depth(), this.open));
+			}
+			return true;
+		}
+		this.target = this.base;
+		return this.open > this.target;
+	}
+
+	/**
+	 * Advance to the next {@link Event}.
+	 *
+	 * @return the {@link Event} now being reported
+	 *
+	 * @throws IOException if the underlying input could not be read
+	 *
+	 * @throws NoSuchElementException if there are no more {@link Event}s
+	 */
+	public Event next() throws IOException {
+		if (!hasNext()) throw new NoSuchElementException();
+		if (this.open > this.target) {
+			this.depth = --this.open;
+			this.key = this.keys[this.open];
+			this.keys[this.open] = null;
+			this.value = this.comment = null;
+			return this.event = Event.END_SECTION;
+		}
+		this.event = this.pending;
+		this.pending = null;
+		if (this.event == Event.COMMENT) {
+			this.depth = this.tokenizer.depth();
+			this.comment = this.tokenizer.value();
+			this.key = this.value = null;
+		} else {
+			this.depth = this.open;
+			this.key = this.tokenizer.key();
+			this.value = this.tokenizer.value();
+			this.comment = null;
+			if (this.open == this.keys.length) this.keys = Arrays.copyOf(this.keys, this.open * 2);
+			this.keys[this.open++] = this.key;
+			this.target = this.open;
+		}
+		return this.event;
+	}
+
+	/**
+	 * Get the {@link Event} currently being reported.
+	 *
+	 * @return the current {@link Event}, or null if {@link #next()} has not yet been called
+	 */
+	public Event getEvent() {
+		return this.event;
+	}
+
+	/**
+	 * Get the key of the {@link Section} which has started or ended.
+	 *
+	 * @return the key of the current {@link Section}, or null if the current {@link Event} is a comment
+	 */
+	public String getKey() {
+		return this.key;
+	}
+
+	/**
+	 * Get the value of the {@link Section} which has started.
+	 *
+	 * @return the value of the current {@link Section}, or null if the current {@link Event} is not {@link Event#START_SECTION}
+	 */
+	public String getValue() {
+		return this.value;
+	}
+
+	/**
+	 * Get the text of the comment which has been read.
+	 *
+	 * @return the text of the current comment, or null if the current {@link Event} is not {@link Event#COMMENT}
+	 */
+	public String getComment() {
+		return this.comment;
+	}
+
+	/**
+	 * Get the depth of the current {@link Event}.<br>
+	 * <br>
+	 * For {@link Section}s, this is the number of {@link Section}s enclosing it, where top-level {@link Section}s have a depth of 0.<br>
+	 * For comments, this is the number of whole indents preceding it.
+	 *
+	 * @return the depth of the current {@link Event}
+	 */
+	public int getDepth() {
+		return this.depth;
+	}
+
+	/**
+	 * Close the underlying input.
+	 *
+	 * @throws IOException if the underlying input could not be closed
+	 */
+	@Override
+	public void close() throws IOException {
+		if (this.source != null) this.source.close();
+	}
+
+}
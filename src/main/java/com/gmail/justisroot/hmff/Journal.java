@@ -0,0 +1,202 @@
+package com.gmail.justisroot.hmff;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * An append-only log of modifications, kept alongside a {@link HMFF} file by {@link HMFF#enableJournal(long, double)}.<br>
+ * <br>
+ * Each record holds an operation, the path it applies to and, where needed, its argument, with every {@code String} written as its UTF-8 length and bytes.
+ * A record cut short by a crash is truncated away when the log is replayed.
+ */
+final class Journal implements Closeable {
+
+	static final byte SET = 'S', REMOVE = 'R', RENAME = 'N';
+
+	/**
+	 * Applies the records of a {@link Journal} as it is replayed.
+	 */
+	@FunctionalInterface
+	interface Replayer {
+
+		void apply(byte operation, String[] path, String argument);
+
+	}
+
+	private final File file;
+	private final long maxSize;
+	private final double maxRatio;
+
+	private DataOutputStream out;
+	private long size;
+
+	Journal(File file, long maxSize, double maxRatio) {
+		this.file = file;
+		this.maxSize = maxSize;
+		this.maxRatio = maxRatio;
+		this.size = file.length();
+	}
+
+	/**
+	 * Get the sidecar journal {@linkplain File} for the provided {@link HMFF} file.
+	 *
+	 * @param base The {@link HMFF} file being journaled
+	 *
+	 * @return the journal {@linkplain File}, which may not yet exist
+	 */
+	static File of(File base) {
+		return new File(base.getPath() + ".journal");
+	}
+
+	/**
+	 * Apply every complete record in the journal, in the order they were written.<br>
+	 * A record cut short, and anything after it, is truncated away, so that records appended afterwards are never hidden behind it.
+	 *
+	 * @param replayer The {@link Replayer} to apply the records with
+	 *
+	 * @throws IOException if the journal exists but could not be read or truncated
+	 */
+	void replay(Replayer replayer) throws IOException {
+		if (this.out != null) this.out.flush();
+		if (!this.file.exists()) return;
+		long limit = this.file.length(), complete = 0;
+		try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(this.file)))) {
+			Cursor cursor = new Cursor(in, limit);
+			while (cursor.position < limit) {
+				byte operation = in.readByte();
+				cursor.position++;
+				int length = cursor.readLength(4);
+				String[] path = new String[length];
+				for (int i = 0; i < path.length; i++) path[i] = cursor.readString();
+				String argument = operation == REMOVE ? null : cursor.readString();
+				complete = cursor.position;
+				replayer.apply(operation, path, argument);
+			}
+		} catch (EOFException e) {
+			// a record cut short
+		}
+		if (complete == limit) return;
+		try (FileChannel channel = FileChannel.open(this.file.toPath(), StandardOpenOption.WRITE)) {
+			channel.truncate(complete);
+		}
+		this.size = complete;
+	}
+
+	/**
+	 * Append a record to the journal. It is buffered until the next {@link #flush()}.
+	 *
+	 * @param operation The operation performed
+	 *
+	 * @param path The path the operation was performed on
+	 *
+	 * @param argument The value set or name given, or null for removals
+	 *
+	 * @throws IOException if the record could not be written
+	 */
+	void append(byte operation, String[] path, String argument) throws IOException {
+		DataOutputStream out = open();
+		int before = out.size();
+		out.writeByte(operation);
+		out.writeInt(path.length);
+		for (String segment : path) write(out, segment);
+		if (argument != null) write(out, argument);
+		this.size += out.size() - before;
+	}
+
+	/**
+	 * Check whether the journal has outgrown its base file and should be folded into it.
+	 *
+	 * @param baseLength The size of the base file, in bytes
+	 *
+	 * @return true if the journal has passed its size or ratio threshold, false otherwise
+	 */
+	boolean isDue(long baseLength) {
+		return this.size > this.maxSize || this.size > baseLength * this.maxRatio;
+	}
+
+	void flush() throws IOException {
+		if (this.out != null) this.out.flush();
+	}
+
+	/**
+	 * Empty the journal, once its records are part of the base file.
+	 *
+	 * @throws IOException if the journal could not be truncated
+	 */
+	void clear() throws IOException {
+		close();
+		new FileOutputStream(this.file, false).close();
+		this.size = 0;
+	}
+
+	/**
+	 * Remove the journal entirely.
+	 *
+	 * @throws IOException if the journal could not be closed
+	 */
+	void delete() throws IOException {
+		close();
+		this.file.delete();
+		this.size = 0;
+	}
+
+	@Override
+	public void close() throws IOException {
+		if (this.out == null) return;
+		this.out.close();
+		this.out = null;
+	}
+
+	private DataOutputStream open() throws IOException {
+		if (this.out != null) return this.out;
+		return this.out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(this.file, true)));
+	}
+
+	private static void write(DataOutputStream out, String string) throws IOException {
+		byte[] bytes = string.getBytes(StandardCharsets.UTF_8);
+		out.writeInt(bytes.length);
+		out.write(bytes);
+	}
+
+	/** Reads the lengths and {@code String}s of records, refusing any length which runs past the end of the journal **/
+	private static final class Cursor {
+
+		private final DataInputStream in;
+		private final long limit;
+
+		long position;
+
+		Cursor(DataInputStream in, long limit) {
+			this.in = in;
+			this.limit = limit;
+		}
+
+		/** Read a length, which is torn unless at least that many elements of the provided size remain **/
+		int readLength(int elementSize) throws IOException {
+			int length = this.in.readInt();
+			this.position += 4;
+			if (length < 0 || length > (this.limit - this.position) / elementSize) throw new EOFException();
+			return length;
+		}
+
+		String readString() throws IOException {
+			byte[] bytes = new byte[readLength(1)];
+			this.in.readFully(bytes);
+			this.position += bytes.length;
+			return new String(bytes, StandardCharsets.UTF_8);
+		}
+
+	}
+
+}
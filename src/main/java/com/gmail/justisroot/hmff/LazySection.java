@@ -0,0 +1,261 @@
+package com.gmail.justisroot.hmff;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * A top-level {@link Section} indexed by {@link LoadMode#LAZY}, which holds the byte range it was read from until its children are first needed.<br>
+ * <br>
+ * Until then, it is written back out exactly as it was read, unless its key or value has since been changed,
+ * and it is frozen into snapshots by its byte range, so that taking a snapshot or listening for changes never builds it.
+ */
+final class LazySection extends Section {
+
+	private final String rawKey, rawValue;
+	private final Charset charset;
+	private final int start, body;
+
+	private byte[] source;
+	private int end;
+
+	private LazySection(Section parent, String key, String value, byte[] source, Charset charset, int start, int body) {
+		super(parent, key, value);
+		this.rawKey = key;
+		this.rawValue = value;
+		this.source = source;
+		this.charset = charset;
+		this.start = start;
+		this.body = body;
+	}
+
+	/**
+	 * {@inheritDoc}<br>
+	 * <br>
+	 * Builds the children of this {@link Section} if they have not been built yet.
+	 */
+	@Override
+	public Map<String, Section> children() {
+		materialize();
+		return super.children();
+	}
+
+	/**
+	 * {@inheritDoc}<br>
+	 * <br>
+	 * Builds the children of this {@link Section} if they have not been built yet.
+	 */
+	@Override
+	Map<String, Section> peekChildren() {
+		materialize();
+		return super.peekChildren();
+	}
+
+	/**
+	 * {@inheritDoc}<br>
+	 * <br>
+	 * Builds the children of this {@link Section} if they have not been built yet, as the {@link Comments} may be about to change.
+	 */
+	@Override
+	public Comments comments() {
+		materialize();
+		return super.comments();
+	}
+
+	/**
+	 * {@inheritDoc}<br>
+	 * <br>
+	 * If the children of this {@link Section} have not been built yet, the copy holds its byte range instead, and builds its own copies of them once they are first read.
+	 */
+	@Override
+	Section freeze() {
+		Section frozen = this.frozen;
+		if (frozen != null) return frozen;
+		byte[] source = this.source;
+		if (source == null) return super.freeze();
+		return this.frozen = new FrozenSection(this, new RawChildren(source, this.body, this.end, this.charset, strings(getRoot())));
+	}
+
+	@Override
+	void write(LineWriter out, int tab) throws IOException {
+		if (this.source == null || !this.key.equals(this.rawKey) || !this.value.equals(this.rawValue)) {
+			super.write(out, tab);
+			return;
+		}
+		out.raw(new String(this.source, this.start, this.end - this.start, this.charset));
+	}
+
+	private void materialize() {
+		if (this.source == null) return;
+		ByteBuffer children = ByteBuffer.wrap(this.source, this.body, this.end - this.body);
+		this.source = null;
+		Section root = getRoot();
+		// building the children changes nothing, so the snapshots taken before remain current
+		Section frozen = this.frozen, rootFrozen = root.frozen;
+		long modifications = root instanceof HMFF ? ((HMFF) root).modifications() : 0;
+		try {
+			HMFF.load(new HMFFReader(new Tokenizer(children, this.charset).deduplicate(strings(root)), null, 1), new Section[] {root, this});
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+		if (root instanceof HMFF) ((HMFF) root).unmodified(modifications);
+		this.frozen = frozen;
+		root.frozen = rootFrozen;
+	}
+
+	private static StringTable strings(Section root) {
+		return root instanceof HMFF ? ((HMFF) root).strings() : new StringTable();
+	}
+
+	/**
+	 * Check whether two maps of frozen children are both still the unbuilt byte range of the same {@link LazySection}, and so hold the same contents.
+	 *
+	 * @param before The children of the earlier snapshot
+	 *
+	 * @param after The children of the later snapshot
+	 *
+	 * @return true if neither has been built from a different range than the other, false otherwise
+	 */
+	static boolean sameRange(Map<String, Section> before, Map<String, Section> after) {
+		if (!(before instanceof RawChildren) || !(after instanceof RawChildren)) return false;
+		RawChildren first = (RawChildren) before, second = (RawChildren) after;
+		return first.source == second.source && first.body == second.body && first.end == second.end;
+	}
+
+	/**
+	 * Get the line terminator a source uses, judging by its first line.
+	 *
+	 * @param source The raw file contents
+	 *
+	 * @return the first line terminator of the source, or a line feed if it has none
+	 */
+	static String separator(byte[] source) {
+		for (int i = 0; i < source.length; i++) {
+			if (source[i] == '\n') return "\n";
+			if (source[i] == '\r') return i + 1 < source.length && source[i + 1] == '\n' ? "\r\n" : "\r";
+		}
+		return "\n";
+	}
+
+	/**
+	 * Index the top-level {@link Section}s of the source onto the root, without building any of their children.<br>
+	 * Each top-level {@link Section}'s range begins with the comments preceding it and ends where the next one begins.
+	 *
+	 * @param root The {@link Section} to add the top-level {@link Section}s to
+	 *
+	 * @param source The raw file contents, encoded with an ASCII compatible {@linkplain Charset}
+	 *
+	 * @param charset The {@linkplain Charset} the source is encoded with
+	 *
+	 * @param strings The {@link StringTable} to deduplicate the top-level keys and values against
+	 *
+	 * @return the trailing comments which no {@link Section} followed
+	 *
+	 * @throws IOException if the source could not be tokenized
+	 */
+	static List<String> index(Section root, byte[] source, Charset charset, StringTable strings) throws IOException {
+		Tokenizer tokenizer = new Tokenizer(ByteBuffer.wrap(source, 0, 0), charset).deduplicate(strings);
+		LazySection last = null;
+		int comments = -1;
+		for (int line = 0, end; line < source.length; line = end + 1) {
+			end = line;
+			while (end < source.length && source[end] != '\n' && source[end] != '\r') end++;
+			int i = line;
+			while (i < end && source[i] == ' ') i++;
+			boolean top = last == null || i - line < Tokenizer.INDENT;
+			while (i < end && (source[i] & 0xFF) <= ' ') i++;
+			if (i == end) continue;
+			if (source[i] == COMMENT_INDICATOR) {
+				if (comments < 0) comments = line;
+				continue;
+			}
+			if (top) {
+				int start = last == null ? 0 : comments < 0 ? line : comments;
+				if (last != null) last.end = start;
+				tokenizer.reset(ByteBuffer.wrap(source, line, end - line)).next();
+				last = new LazySection(root, tokenizer.key(), tokenizer.value(), source, charset, start, Math.min(end + 1, source.length));
+				if (comments >= 0) {
+					last.comments = new Comments(last); // set directly, as comments() would build the children before the range is known
+					last.comments.set(collect(tokenizer.reset(ByteBuffer.wrap(source, comments, line - comments))));
+				}
+				root.addChild(last);
+			}
+			comments = -1;
+		}
+		if (last != null) last.end = comments < 0 ? source.length : comments;
+		if (comments < 0) return new ArrayList<>();
+		return collect(tokenizer.reset(ByteBuffer.wrap(source, comments, source.length - comments)));
+	}
+
+	private static List<String> collect(Tokenizer tokenizer) throws IOException {
+		List<String> comments = new ArrayList<>();
+		while (tokenizer.next()) comments.add(tokenizer.value());
+		return comments;
+	}
+
+	/** The frozen children of a {@link LazySection} that had not been built, built onto a detached copy from its byte range once first read **/
+	private static final class RawChildren extends AbstractMap<String, Section> {
+
+		private final byte[] source;
+		private final int body, end;
+		private final Charset charset;
+		private final StringTable strings;
+
+		private volatile Map<String, Section> built;
+
+		private RawChildren(byte[] source, int body, int end, Charset charset, StringTable strings) {
+			this.source = source;
+			this.body = body;
+			this.end = end;
+			this.charset = charset;
+			this.strings = strings;
+		}
+
+		private Map<String, Section> built() {
+			Map<String, Section> built = this.built;
+			if (built != null) return built;
+			synchronized (this) {
+				if (this.built != null) return this.built;
+				Section parent = new Section(""), copy = new Section(parent, "", "");
+				try {
+					HMFF.load(new HMFFReader(new Tokenizer(ByteBuffer.wrap(this.source, this.body, this.end - this.body), this.charset).deduplicate(this.strings), null, 1), new Section[] {parent, copy});
+				} catch (IOException e) {
+					throw new UncheckedIOException(e);
+				}
+				Map<String, Section> copies = new LinkedHashMap<>();
+				for (Section child : copy.peekChildren().values()) copies.put(child.key, child.freeze());
+				return this.built = Collections.unmodifiableMap(copies);
+			}
+		}
+
+		@Override
+		public Set<Entry<String, Section>> entrySet() {
+			return built().entrySet();
+		}
+
+		@Override
+		public Section get(Object key) {
+			return built().get(key);
+		}
+
+		@Override
+		public boolean containsKey(Object key) {
+			return built().containsKey(key);
+		}
+
+		@Override
+		public int size() {
+			return built().size();
+		}
+
+	}
+
+}
@@ -0,0 +1,73 @@
+package com.gmail.justisroot.hmff;
+
+import java.io.IOException;
+
+/**
+ * Writes HMFF formatted lines straight into an {@linkplain Appendable}, separating them with line feeds unless told otherwise.<br>
+ * Indentation is appended from a cache of prefixes rather than built for every line.
+ */
+final class LineWriter {
+
+	private static final String[] INDENTS = new String[32];
+
+	static {
+		INDENTS[0] = "";
+		for (int i = 1; i < INDENTS.length; i++) INDENTS[i] = INDENTS[i - 1] + Section.TAB;
+	}
+
+	private final Appendable out;
+	private final String separator;
+
+	private boolean started, terminated;
+
+	LineWriter(Appendable out) {
+		this(out, "\n");
+	}
+
+	LineWriter(Appendable out, String separator) {
+		this.out = out;
+		this.separator = separator;
+	}
+
+	/**
+	 * Begin a new line with the provided number of indents.
+	 *
+	 * @param tab The number of indents to pad the line with
+	 *
+	 * @return the underlying {@linkplain Appendable}, to write the rest of the line to
+	 *
+	 * @throws IOException if the underlying {@linkplain Appendable} could not be written to
+	 */
+	Appendable line(int tab) throws IOException {
+		if (this.started && !this.terminated) this.out.append(this.separator);
+		this.started = true;
+		this.terminated = false;
+		return this.out.append(tab < INDENTS.length ? INDENTS[tab] : Section.TAB.repeat(tab));
+	}
+
+	/**
+	 * Write text exactly as it was read, on a new line.<br>
+	 * If the text ends with a line terminator of its own, the next line begins right after it.
+	 *
+	 * @param text The raw lines to write, along with their own line terminators
+	 *
+	 * @throws IOException if the underlying {@linkplain Appendable} could not be written to
+	 */
+	void raw(String text) throws IOException {
+		line(0).append(text);
+		char last = text.isEmpty() ? 0 : text.charAt(text.length() - 1);
+		this.terminated = last == '\n' || last == '\r';
+	}
+
+	/**
+	 * Finish writing, terminating the last line if the output should end with a line terminator.
+	 *
+	 * @param terminate Whether the output should end with a line terminator
+	 *
+	 * @throws IOException if the underlying {@linkplain Appendable} could not be written to
+	 */
+	void finish(boolean terminate) throws IOException {
+		if (terminate && this.started && !this.terminated) this.out.append(this.separator);
+	}
+
+}
@@ -0,0 +1,37 @@
+package com.gmail.justisroot.hmff;
+
+/**
+ * Determines how {@link HMFF#reload()} builds the in-memory structure from the wrapped file.
+ */
+public enum LoadMode {
+
+	/**
+	 * Build every {@link Section} as soon as the file is loaded.
+	 */
+	EAGER,
+
+	/**
+	 * Only index the top-level {@link Section}s as the file is loaded, building each one's children the first time they are reached.<br>
+	 * <br>
+	 * Top-level {@link Section}s which are never reached, modified or have their {@link Comments} accessed are saved exactly as they were read.<br>
+	 * Requires an ASCII compatible {@linkplain java.nio.charset.Charset Charset} such as UTF-8, otherwise the file is loaded eagerly.
+	 */
+	LAZY,
+
+	/**
+	 * Split the file at its top-level {@link Section}s and build them on multiple threads, once the file reaches {@link HMFF#getParallelThreshold()} bytes.<br>
+	 * <br>
+	 * Smaller files are loaded eagerly on the calling thread.<br>
+	 * Requires an ASCII compatible {@linkplain java.nio.charset.Charset Charset} such as UTF-8, otherwise the file is loaded eagerly.
+	 */
+	PARALLEL,
+
+	/**
+	 * Build every {@link Section} from the binary snapshot written by {@link HMFF#compile()}, skipping the text parser entirely.<br>
+	 * <br>
+	 * The snapshot is only used while the file still has the size, modification time and checksum it was compiled from,
+	 * otherwise the file is loaded eagerly.
+	 */
+	COMPILED
+
+}
@@ -0,0 +1,155 @@
+package com.gmail.justisroot.hmff;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map.Entry;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+
+/**
+ * Delivers the changes made to a {@link HMFF} to the listeners registered through {@link HMFF#onChange(Consumer, String...)}.<br>
+ * <br>
+ * A modification only schedules a delivery, unless one is already pending. The delivery then runs on the configured {@linkplain Executor},
+ * where it compares a fresh snapshot of the {@link HMFF} against the one each listener was last brought up to date with, so every modification made
+ * in the meantime is coalesced into a single list of {@link Change}s. A listener starts from the snapshot taken when it registered, so it is never told of earlier changes.
+ * Since snapshots share unchanged subtrees, only the {@link Section}s that were modified are compared.<br>
+ * <br>
+ * An exception thrown by a listener is passed to the uncaught exception handler of the thread delivering it, and the other listeners are still called.
+ */
+final class Notifier implements Runnable {
+
+	private final HMFF hmff;
+	private final List<Registration> registrations = new CopyOnWriteArrayList<>();
+	private final AtomicBoolean scheduled = new AtomicBoolean();
+
+	private volatile Executor executor = Dispatcher.INSTANCE;
+	private long version;
+
+	Notifier(HMFF hmff) {
+		this.hmff = hmff;
+	}
+
+	/**
+	 * Register a listener for changes under the provided path.
+	 *
+	 * @param listener The listener to notify
+	 *
+	 * @param path The path under which changes are reported, including the {@link Section} at the path itself
+	 */
+	void register(Consumer<List<Change>> listener, CompiledPath path) {
+		Section current;
+		synchronized (this.hmff) {
+			current = this.hmff.snapshot();
+		}
+		synchronized (this) {
+			this.registrations.add(new Registration(listener, path, current));
+		}
+	}
+
+	/**
+	 * Remove every registration of the provided listener.
+	 *
+	 * @param listener The listener to remove
+	 *
+	 * @return true if the listener was registered, false otherwise
+	 */
+	boolean unregister(Consumer<List<Change>> listener) {
+		return this.registrations.removeIf(registration -> registration.listener == listener);
+	}
+
+	void setExecutor(Executor executor) {
+		this.executor = executor == null ? Dispatcher.INSTANCE : executor;
+	}
+
+	/**
+	 * Schedule a delivery, unless one is already pending or nothing is listening.
+	 */
+	void schedule() {
+		if (!this.registrations.isEmpty() && this.scheduled.compareAndSet(false, true)) this.executor.execute(this);
+	}
+
+	@Override
+	public void run() {
+		this.scheduled.set(false);
+		Section current;
+		long version;
+		synchronized (this.hmff) {
+			if (this.hmff.isBatching()) return; // the end of the batch schedules another delivery
+			current = this.hmff.snapshot();
+			version = this.hmff.modifications();
+		}
+		synchronized (this) {
+			if (version < this.version) return; // already delivered by a later run
+			this.version = version;
+			for (Registration registration : this.registrations) {
+				Section last = registration.last;
+				if (last == current) continue;
+				registration.last = current;
+				List<Change> changes = new ArrayList<>();
+				String[] path = registration.path.segments;
+				diff(last.find(path), current.find(path), path, changes);
+				if (changes.isEmpty()) continue;
+				try {
+					registration.listener.accept(Collections.unmodifiableList(changes));
+				} catch (RuntimeException e) {
+					Thread thread = Thread.currentThread();
+					thread.getUncaughtExceptionHandler().uncaughtException(thread, e); // reported without stopping delivery to the other listeners
+				}
+			}
+		}
+	}
+
+	/** Collect the differences between two versions of the {@link Section} at the provided path, skipping any subtree shared by both **/
+	private static void diff(Section before, Section after, String[] path, List<Change> changes) {
+		if (before == after) return;
+		if (before == null) {
+			if (path.length > 0) changes.add(new Change(CompiledPath.wrap(path), null, after.value));
+			for (Entry<String, Section> child : after.peekChildren().entrySet()) diff(null, child.getValue(), HMFF.append(path, child.getKey()), changes);
+			return;
+		}
+		if (after == null) {
+			if (path.length > 0) changes.add(new Change(CompiledPath.wrap(path), before.value, null));
+			for (Entry<String, Section> child : before.peekChildren().entrySet()) diff(child.getValue(), null, HMFF.append(path, child.getKey()), changes);
+			return;
+		}
+		if (path.length > 0 && !before.value.equals(after.value)) changes.add(new Change(CompiledPath.wrap(path), before.value, after.value));
+		if (LazySection.sameRange(before.peekChildren(), after.peekChildren())) return; // neither has been built, so neither has changed
+		for (Entry<String, Section> child : before.peekChildren().entrySet()) {
+			if (!after.peekChildren().containsKey(child.getKey())) diff(child.getValue(), null, HMFF.append(path, child.getKey()), changes);
+		}
+		for (Entry<String, Section> child : after.peekChildren().entrySet()) diff(before.peekChildren().get(child.getKey()), child.getValue(), HMFF.append(path, child.getKey()), changes);
+	}
+
+	/** A listener along with the path it listens under and the last snapshot it was brought up to date with **/
+	private static final class Registration {
+
+		private final Consumer<List<Change>> listener;
+		private final CompiledPath path;
+
+		private Section last;
+
+		private Registration(Consumer<List<Change>> listener, CompiledPath path, Section last) {
+			this.listener = listener;
+			this.path = path;
+			this.last = last;
+		}
+
+	}
+
+	/** Lazily creates the single daemon thread shared by every {@link Notifier} which has no other {@linkplain Executor} **/
+	private static final class Dispatcher {
+
+		private static final ExecutorService INSTANCE = Executors.newSingleThreadExecutor(runnable -> {
+			Thread thread = new Thread(runnable, "HMFF Listeners");
+			thread.setDaemon(true);
+			return thread;
+		});
+
+	}
+
+}
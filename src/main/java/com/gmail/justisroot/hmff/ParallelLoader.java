@@ -0,0 +1,125 @@
+package com.gmail.justisroot.hmff;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.function.Supplier;
+
+/**
+ * Loads the contents of a {@linkplain ByteBuffer} for {@link LoadMode#PARALLEL}.<br>
+ * <br>
+ * The buffer is split into chunks at top-level {@link Section}s, which are independent of one another.
+ * Each chunk is tokenized on the common {@linkplain ForkJoinPool} under its own detached root from {@link Section#newRoot()}, so the workers never lock or modify the real one.
+ * The results are then moved onto the real root on the calling thread, in their original order.
+ */
+final class ParallelLoader {
+
+	/** The smallest number of bytes worth handing off to another thread **/
+	private static final int MIN_CHUNK_SIZE = 1 << 16;
+
+	private ParallelLoader() { }
+
+	/**
+	 * Load the remaining contents of the buffer onto the root.
+	 *
+	 * @param root The {@link Section} to add the top-level {@link Section}s to
+	 *
+	 * @param buffer The contents to load, encoded with an ASCII compatible {@linkplain Charset}
+	 *
+	 * @param charset The {@linkplain Charset} the buffer is encoded with
+	 *
+	 * @param strings Supplies the {@link StringTable} each chunk is deduplicated against
+	 *
+	 * @return the trailing comments which no {@link Section} followed
+	 */
+	static List<String> load(Section root, ByteBuffer buffer, Charset charset, Supplier<StringTable> strings) {
+		ForkJoinPool pool = ForkJoinPool.commonPool();
+		int from = buffer.position(), limit = buffer.limit();
+		int count = Math.max(1, Math.min(pool.getParallelism() * 4, (limit - from) / MIN_CHUNK_SIZE));
+		List<ForkJoinTask<Chunk>> tasks = new ArrayList<>(count);
+		for (int i = 1, start = from; start < limit; i++) {
+			int end = i < count ? boundary(buffer, Math.max(start + 1, from + (int) ((long) (limit - from) * i / count)), limit) : limit;
+			Chunk chunk = new Chunk(root.newRoot(), buffer.duplicate().limit(end).position(start), charset, strings.get());
+			tasks.add(pool.submit(chunk::load));
+			start = end;
+		}
+		List<String> comments = new ArrayList<>();
+		boolean loaded = false;
+		for (ForkJoinTask<Chunk> task : tasks) {
+			Chunk chunk = task.join();
+			Iterator<Section> children = chunk.root.peekChildren().values().iterator();
+			if (!comments.isEmpty() && children.hasNext()) {
+				children.next().comments().list().addAll(0, comments);
+				comments.clear();
+			}
+			loaded |= root.adoptChildren(chunk.root);
+			comments.addAll(chunk.trailing);
+		}
+		if (loaded) root.modified();
+		return comments;
+	}
+
+	/** Find the start of the first top-level {@link Section} at or after the line containing from, including the comments preceding it **/
+	private static int boundary(ByteBuffer buffer, int from, int limit) {
+		int line = from;
+		while (line < limit && !isTerminator(buffer.get(line - 1))) line++;
+		int comments = -1;
+		for (int end; line < limit; line = end + 1) {
+			end = line;
+			while (end < limit && !isTerminator(buffer.get(end))) end++;
+			int i = line;
+			while (i < end && buffer.get(i) == ' ') i++;
+			int spaces = i - line;
+			while (i < end && (buffer.get(i) & 0xFF) <= ' ') i++;
+			if (i == end) continue;
+			if (buffer.get(i) == Section.COMMENT_INDICATOR) {
+				if (comments < 0) comments = line;
+				continue;
+			}
+			if (spaces < Tokenizer.INDENT) return comments < 0 ? line : comments;
+			comments = -1;
+		}
+		return limit;
+	}
+
+	private static boolean isTerminator(byte b) {
+		return b == '\n' || b == '\r';
+	}
+
+	/**
+	 * Collects the top-level {@link Section}s of one chunk under a detached root.
+	 */
+	private static final class Chunk {
+
+		private final Section root;
+		private final ByteBuffer buffer;
+		private final Charset charset;
+		private final StringTable strings;
+
+		private List<String> trailing;
+
+		private Chunk(Section root, ByteBuffer buffer, Charset charset, StringTable strings) {
+			this.root = root;
+			this.buffer = buffer;
+			this.charset = charset;
+			this.strings = strings;
+		}
+
+		private Chunk load() {
+			try {
+				this.trailing = HMFF.load(new HMFFReader(new Tokenizer(this.buffer, this.charset).deduplicate(this.strings), null, 0), new Section[] {this.root});
+				return this;
+			} catch (IOException e) {
+				throw new UncheckedIOException(e);
+			}
+		}
+
+	}
+
+}
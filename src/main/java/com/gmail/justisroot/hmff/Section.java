@@ -1,8 +1,8 @@
 package com.gmail.justisroot.hmff;
 
-import java.util.ArrayList;
+import java.io.IOException;
+import java.util.Collections;
 import java.util.LinkedHashMap;
-import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Optional;
@@ -13,18 +13,33 @@ public class Section implements Transmutable {
 	static final String TAB = "  ";
 	static final char VALUE_SEPARATOR = ':', COMMENT_INDICATOR = '#';
 
-	final Optional<Section> parent;
-	final LinkedHashMap<String, Section> children = new LinkedHashMap<>();
+	/** Only reassigned by {@link #adopt(Section)}, when a tree built under a detached root is moved onto the real one **/
+	Section parent;
+	final int depth;
 
-	Comments comments = new Comments();
-	String key, value;
+	Map<String, Section> children;
+	Comments comments;
+	volatile String key, value;
+
+	private Parsed<?> parsed;
+	volatile Section frozen;
 
 	Section(String key) {
 		this(null, key, "");
 	}
 
+	/**
+	 * Create a {@link Section} whose map of children and {@link Comments} are only created once they are first needed,
+	 * as most {@link Section}s in a tree are leaves without either.
+	 */
 	Section(Section parent, String key, String value) {
-		this.parent = Optional.ofNullable(parent);
+		this(parent, key, value, null);
+	}
+
+	Section(Section parent, String key, String value, Map<String, Section> children) {
+		this.parent = parent;
+		this.depth = parent == null ? 0 : parent.depth + 1;
+		this.children = children;
 		this.key = key;
 		this.value = value;
 	}
@@ -51,11 +66,74 @@ public class Section implements Transmutable {
 	 * @return the new child {@link Section}
 	 */
 	public Section addChild(String key, String value) {
-		return addChild(new Section(this, key, value));
+		return addChild(newChild(key, value));
+	}
+
+	/**
+	 * Create a new {@link Section} parented by this one, without adding it to this {@link Section}'s children.
+	 *
+	 * @param key The key/name of the new {@link Section}
+	 *
+	 * @param value The value of the new {@link Section}
+	 *
+	 * @return the new {@link Section}
+	 */
+	Section newChild(String key, String value) {
+		return new Section(this, key, value);
+	}
+
+	/**
+	 * Create a detached root of the same kind as this {@link Section}, on which a tree can be built without locking or modifying this one.
+	 * Its top-level {@link Section}s are then moved onto this one with {@link #adopt(Section)}.
+	 *
+	 * @return a new {@link Section} without a parent, whose children are created as this one's would be
+	 */
+	Section newRoot() {
+		return new Section(this.key);
 	}
 
-	private Section addChild(Section child) {
-		this.children.put(child.getKey(), child);
+	/**
+	 * Reparent a top-level {@link Section} built under a root from {@link #newRoot()} onto this one, without adding it to this {@link Section}'s children.
+	 *
+	 * @param child The {@link Section} to reparent, which must not yet be visible to any other thread
+	 *
+	 * @return the reparented {@link Section}
+	 */
+	Section adopt(Section child) {
+		child.parent = this;
+		return child;
+	}
+
+	/**
+	 * Move every top-level {@link Section} built under a root from {@link #newRoot()} onto this one, in their original order.<br>
+	 * Nothing is recorded, so the caller must call {@link #modified()} once it is done, and reindex the root if it keeps an index.
+	 *
+	 * @param detached The detached root whose {@link Section}s to move, which must not yet be visible to any other thread
+	 *
+	 * @return true if any {@link Section}s were moved, false otherwise
+	 */
+	boolean adoptChildren(Section detached) {
+		Map<String, Section> sections = detached.peekChildren();
+		if (sections.isEmpty()) return false;
+		for (Section section : sections.values()) adopt(section);
+		children().putAll(sections);
+		return true;
+	}
+
+	/**
+	 * Check whether this {@link Section} belongs to a {@link ConcurrentHMFF}, and so must keep its contents safe to read from any thread.
+	 *
+	 * @return true if this {@link Section}'s children are held in a {@link CopyOnWriteMap}, false otherwise
+	 */
+	boolean isConcurrent() {
+		return this.children instanceof CopyOnWriteMap;
+	}
+
+	Section addChild(Section child) {
+		Section previous = children().put(child.getKey(), child);
+		if (previous != null && previous != child) detached(previous);
+		attached(child);
+		modified();
 		return child;
 	}
 
@@ -83,7 +161,75 @@ public class Section implements Transmutable {
 	 * @param value The {@code String} value of this {@link Section}
 	 */
 	void setValue(String value) {
-		this.value = value.replaceAll("[\r\n]+", "\\n");
+		value = value.replaceAll("[\r\n]+", "\\n");
+		if (value.equals(this.value)) return;
+		this.value = value;
+		this.parsed = null;
+		modified();
+	}
+
+	/**
+	 * Get the value of this {@link Section} parsed as the provided type.<br>
+	 * The result is cached until the value changes, including when the value could not be parsed, so repeated reads of the same type don't parse again.
+	 * Each type read keeps a result of its own, so reads which alternate between types don't evict one another.
+	 *
+	 * @param type The {@link ValueType} to parse the value as
+	 *
+	 * @return the parsed value, or null if the value is not a valid representation of the type
+	 */
+	@SuppressWarnings("unchecked")
+	<T> T parsed(ValueType<T> type) {
+		Parsed<?> first = this.parsed;
+		String value = this.value;
+		for (Parsed<?> parsed = first; parsed != null; parsed = parsed.next) if (parsed.type == type && parsed.source == value) return (T) parsed.value;
+		Parsed<T> parsed = new Parsed<>(type, value, type.parse(value), first != null && first.source == value ? first : null);
+		this.parsed = parsed;
+		return parsed.value;
+	}
+
+	/**
+	 * Record that this {@link Section}, or something beneath it, has been modified.<br>
+	 * Propagates up to the root, which is the only {@link Section} that keeps count.
+	 */
+	void modified() {
+		if (this.frozen != null) this.frozen = null;
+		if (this.parent != null) this.parent.modified();
+	}
+
+	/**
+	 * Get an immutable copy of this {@link Section} and everything beneath it.<br>
+	 * The copy is kept until this {@link Section}, or something beneath it, is modified, so unmodified subtrees are shared between copies.
+	 *
+	 * @return a {@link FrozenSection} holding the current contents of this {@link Section}
+	 */
+	Section freeze() {
+		Section frozen = this.frozen;
+		if (frozen != null) return frozen;
+		Map<String, Section> children = peekChildren();
+		if (children.isEmpty()) return this.frozen = new FrozenSection(this, Collections.emptyMap());
+		Map<String, Section> copies = new LinkedHashMap<>();
+		for (Section child : children.values()) copies.put(child.key, child.freeze());
+		return this.frozen = new FrozenSection(this, Collections.unmodifiableMap(copies));
+	}
+
+	/**
+	 * Record that the provided {@link Section}, along with everything beneath it, has been attached beneath this {@link Section}.<br>
+	 * Propagates up to the root, which may keep an index of its {@link Section}s.
+	 *
+	 * @param section The {@link Section} which was attached
+	 */
+	void attached(Section section) {
+		if (this.parent != null) this.parent.attached(section);
+	}
+
+	/**
+	 * Record that the provided {@link Section}, along with everything beneath it, has been detached from beneath this {@link Section}.<br>
+	 * Propagates up to the root, which may keep an index of its {@link Section}s.
+	 *
+	 * @param section The {@link Section} which was detached, still holding the key it was detached under
+	 */
+	void detached(Section section) {
+		if (this.parent != null) this.parent.detached(section);
 	}
 
 	/**
@@ -92,7 +238,9 @@ public class Section implements Transmutable {
 	 * @return the {@link Comments} for this {@link Section}
 	 */
 	public Comments comments() {
-		return this.comments;
+		Comments comments = this.comments;
+		if (comments == null) this.comments = comments = new Comments(this);
+		return comments;
 	}
 
 	/**
@@ -101,9 +249,7 @@ public class Section implements Transmutable {
 	 * @return the number of parents this {@link Section} has
 	 */
 	public int countParents() {
-		int parents = 0;
-		for (Optional<Section> parent = this.parent; parent.isPresent(); parent = parent.get().parent()) parents++;
-		return parents;
+		return this.depth;
 	}
 
 	/**
@@ -112,7 +258,7 @@ public class Section implements Transmutable {
 	 * @return the {@link Section} directly parenting this one,
 	 */
 	public Optional<Section> parent() {
-		return this.parent;
+		return Optional.ofNullable(this.parent);
 	}
 
 	/**
@@ -121,7 +267,62 @@ public class Section implements Transmutable {
 	 * @return the names/keys of this {@link Section}'s children, mapped to themselves
 	 */
 	public Map<String, Section> children() {
-		return this.children;
+		Map<String, Section> children = this.children;
+		if (children == null) this.children = children = new LinkedHashMap<>();
+		return children;
+	}
+
+	/**
+	 * Get the children of this {@link Section} to read them, without creating a map for a {@link Section} which has never had any.
+	 *
+	 * @return the names/keys of this {@link Section}'s children mapped to themselves, or an immutable empty map if it has none
+	 */
+	Map<String, Section> peekChildren() {
+		Map<String, Section> children = this.children;
+		return children != null ? children : Collections.emptyMap();
+	}
+
+	/**
+	 * Replace the keys and values of this {@link Section} and everything beneath it with canonical instances from a fresh {@link StringTable},
+	 * so that every repeated key and short value is held once, however many {@link Section}s it appears in.<br>
+	 * <br>
+	 * Nothing is modified as far as the contents are concerned. {@link Section}s of a {@link LoadMode#LAZY} file which haven't been built yet are left as they are.
+	 */
+	public void deduplicate() {
+		deduplicate(new StringTable());
+	}
+
+	/**
+	 * Replace the keys and values of this {@link Section} and everything beneath it with canonical instances from the provided {@link StringTable}.
+	 *
+	 * @param strings The {@link StringTable} to look keys and values up in
+	 *
+	 * @see #deduplicate()
+	 */
+	public void deduplicate(StringTable strings) {
+		synchronized (getRoot()) {
+			intern(strings);
+		}
+	}
+
+	private void intern(StringTable strings) {
+		this.key = strings.intern(this.key);
+		this.value = strings.value(this.value);
+		Map<String, Section> children = this.children;
+		if (children == null || children.isEmpty()) return;
+		Map<String, Section> rekeyed = new LinkedHashMap<>();
+		boolean replaced = false;
+		for (Entry<String, Section> child : children.entrySet()) {
+			child.getValue().intern(strings);
+			rekeyed.put(child.getValue().key, child.getValue());
+			replaced |= child.getKey() != child.getValue().key;
+		}
+		if (!replaced) return;
+		if (children instanceof CopyOnWriteMap) ((CopyOnWriteMap<String, Section>) children).replace(rekeyed);
+		else {
+			children.clear(); // an equal key already in the map is kept by put, so the entries are added again in their original order
+			children.putAll(rekeyed);
+		}
 	}
 
 	/**
@@ -130,8 +331,88 @@ public class Section implements Transmutable {
 	 * @return the outermost {@link Section}
 	 */
 	public Section getRoot() {
-		if (this.parent.isPresent()) return parent.get().getRoot();
-		return this;
+		Section root = this;
+		while (root.parent != null) root = root.parent;
+		return root;
+	}
+
+	/**
+	 * Create an instance of the provided class, with its fields read from the {@link Section}s beneath the specified path.<br>
+	 * <br>
+	 * Each non-static, non-transient field is read from the {@link Section} at its {@link HMFFPath}, or at its own name if it has none.
+	 * Fields may be a {@code String}, a primitive or its wrapper, an enum, an array or {@linkplain java.util.List List} of any of those,
+	 * or another class, which is bound to the {@link Section}s beneath its own {@link Section} in the same way.
+	 * Fields whose {@link Section} is missing or can't be parsed keep the value given to them by the class's no-argument constructor.<br>
+	 * <br>
+	 * How to bind each class is worked out the first time it is bound, so binding it again costs about as much as reading each field through a typed getter.
+	 *
+	 * @param <T> The type to bind
+	 *
+	 * @param type The class to create an instance of, which must have a no-argument constructor
+	 *
+	 * @param path The path to the {@link Section} to bind<br>
+	 * e.g {@code ("path", "to", "section")}
+	 *
+	 * @return a new instance of the class, holding the values beneath the specified path
+	 *
+	 * @throws IllegalArgumentException if the class, or the type of one of its fields, can't be bound
+	 */
+	public <T> T bind(Class<T> type, String... path) {
+		return type.cast(Binder.of(type).bind(find(path)));
+	}
+
+	/**
+	 * Create an instance of the provided class, with its fields read from the {@link Section}s beneath the specified path.
+	 *
+	 * @param <T> The type to bind
+	 *
+	 * @param type The class to create an instance of, which must have a no-argument constructor
+	 *
+	 * @param path The path to the {@link Section} to bind<br>
+	 * e.g {@code CompiledPath.parse("path.to.section")}
+	 *
+	 * @return a new instance of the class, holding the values beneath the specified path
+	 *
+	 * @throws IllegalArgumentException if the class, or the type of one of its fields, can't be bound
+	 *
+	 * @see #bind(Class, String...)
+	 */
+	public <T> T bind(Class<T> type, CompiledPath path) {
+		return type.cast(Binder.of(type).bind(find(path)));
+	}
+
+	/**
+	 * Write the fields of the provided object to the {@link Section}s beneath the specified path, creating any which are missing.<br>
+	 * <br>
+	 * Each field is written where {@link #bind(Class, String...)} would read it from, so the object can be bound again.
+	 * Fields which are null are skipped, leaving their {@link Section}s as they were.
+	 *
+	 * @param value The object to write
+	 *
+	 * @param path The path to the {@link Section} to write to<br>
+	 * e.g {@code ("path", "to", "section")}
+	 *
+	 * @throws IllegalArgumentException if the object's class, or the type of one of its fields, can't be bound,
+	 * if the object refers back to itself, or if an element of an array or {@linkplain java.util.List List} contains a {@code ','} or {@code ']'}
+	 */
+	public void unbind(Object value, String... path) {
+		Binder.of(value.getClass()).unbind(value, this, path);
+	}
+
+	/**
+	 * Write the fields of the provided object to the {@link Section}s beneath the specified path, creating any which are missing.
+	 *
+	 * @param value The object to write
+	 *
+	 * @param path The path to the {@link Section} to write to<br>
+	 * e.g {@code CompiledPath.parse("path.to.section")}
+	 *
+	 * @throws IllegalArgumentException if the object's class, or the type of one of its fields, can't be bound
+	 *
+	 * @see #unbind(Object, String...)
+	 */
+	public void unbind(Object value, CompiledPath path) {
+		unbind(value, path.segments);
 	}
 
 	/**
@@ -142,9 +423,9 @@ public class Section implements Transmutable {
 	 * @return the new copy of this {@link Section}, located under the provided parent
 	 */
 	public Section copyTo(Section parent) {
-		Section copied = new Section(parent, this.key, this.value);
-		copied.comments().set(this.comments().toArray());
-		for (Entry<String, Section> child : this.children.entrySet())
+		Section copied = parent.newChild(this.key, this.value);
+		if (this.comments != null) copied.comments().set(this.comments.toArray());
+		for (Entry<String, Section> child : peekChildren().entrySet())
 			copied.children().put(child.getKey(), child.getValue().copyTo(copied));
 		return parent.addChild(copied);
 	}
@@ -157,7 +438,18 @@ public class Section implements Transmutable {
 	 * @return true if a {@link Section} exists at the specified path, false otherwise
 	 */
 	public boolean sectionExists(String... path) {
-		return get(new Path(path)).isPresent();
+		return find(path) != null;
+	}
+
+	/**
+	 * Check if the {@link Section} at the specified path exists.
+	 *
+	 * @param path The path to the {@link Section} in question
+	 *
+	 * @return true if a {@link Section} exists at the specified path, false otherwise
+	 */
+	public boolean sectionExists(CompiledPath path) {
+		return find(path) != null;
 	}
 
 	/**
@@ -169,7 +461,19 @@ public class Section implements Transmutable {
 	 * @param name The new name of the {@link Section} at the specified path
 	 */
 	public void renameSection(String name, String... path) {
-		rename(name, new Path(path));
+		rename(name, path);
+	}
+
+	/**
+	 * Replace the key/name of the {@link Section} at the specified path, creating one if necessary.<br>
+	 * <b>This will also move the {@link Section} down to the bottom of its siblings.</b>
+	 *
+	 * @param path The path to the {@link Section} to rename
+	 *
+	 * @param name The new name of the {@link Section} at the specified path
+	 */
+	public void renameSection(String name, CompiledPath path) {
+		rename(name, path.segments);
 	}
 
 	/**
@@ -178,120 +482,184 @@ public class Section implements Transmutable {
 	 * @param path The path to {@link Section} to remove
 	 */
 	public void removeSection(String... path) {
-		remove(new Path(path));
+		remove(path);
+	}
+
+	/**
+	 * If the {@link Section} at the specified path exists, remove it and all of its children.
+	 *
+	 * @param path The path to {@link Section} to remove
+	 */
+	public void removeSection(CompiledPath path) {
+		remove(path.segments);
 	}
 
 	/**
 	 * {@inheritDoc}
 	 */
 	@Override
-	public Optional<Section> getSection(String... path) {
-		return get(new Path(path));
+	public Optional<Section> getSection(CompiledPath path) {
+		return Optional.ofNullable(find(path));
 	}
 
 	/**
 	 * {@inheritDoc}
 	 */
 	@Override
-	public void set(Object value, String... path) {
-		getOrCreate(value.toString(), new Path(path)).setValue(value.toString());;
+	public void set(Object value, CompiledPath path) {
+		assign(value.toString(), path.segments);
 	}
 
 	/**
 	 * {@inheritDoc}
 	 */
 	@Override
-	public Section getOrCreateSection(String... path) {
-		return getOrCreate("", new Path(path));
+	public Section getOrCreateSection(CompiledPath path) {
+		return getOrCreate("", path.segments);
 	}
 
 	/**
 	 * {@inheritDoc}
 	 */
 	@Override
-	public Optional<String> getString(String... path) {
-		return getSection(path).map(Section::getValue);
+	public Optional<String> getString(CompiledPath path) {
+		Section section = find(path);
+		return section == null ? Optional.empty() : Optional.of(section.getValue());
 	}
 
 	/**
 	 * {@inheritDoc}
 	 */
 	@Override
-	public String getOrSetString(String value, String... path) {
-		return getOrCreate(value, new Path(path)).getValue();
+	public String getOrSetString(String value, CompiledPath path) {
+		return getOrCreate(value, path.segments).getValue();
 	}
 
 	/**
 	 * {@inheritDoc}
 	 */
 	@Override
-	public String getOrSetString(Supplier<String> value, String... path) {
-		return getOrCreate(value, new Path(path)).getValue();
+	public String getOrSetString(Supplier<String> value, CompiledPath path) {
+		return getOrCreate(value, path.segments).getValue();
 	}
 
 	/**
-	 * Get a {@code List<String>} representation of the path/value and comments of this {@link Section}, as well as all of its children.<br>
-	 * Each entry in the list represents a new line.
+	 * Write the path/value and comments of this {@link Section}, as well as all of its children, one entry per line.
+	 *
+	 * @param out The {@link LineWriter} to write the lines to
 	 *
 	 * @param tab The number of indents to pad the entries with
 	 *
-	 * @return A {@code List<String>} representation of the path/value and comments of this {@link Section}, as well as all of its children
+	 * @throws IOException if the lines could not be written
 	 */
-	List<String> getLines(int tab) {
-		List<String> contents = new ArrayList<>();
-		String indent = new String(new char[tab]).replace("\0", TAB);
-		for (String comment : this.comments) contents.add(indent + COMMENT_INDICATOR + " " + comment);
-		contents.add(indent + this.key + VALUE_SEPARATOR + " " + this.value);
-		if (tab == 0) contents.add(""); // for readability
-		for (Section child : this.children.values()) contents.addAll(child.getLines(tab + 1));
-		return contents;
+	void write(LineWriter out, int tab) throws IOException {
+		if (this.comments != null) for (String comment : this.comments) out.line(tab).append(COMMENT_INDICATOR).append(' ').append(comment);
+		out.line(tab).append(this.key).append(VALUE_SEPARATOR).append(' ').append(this.value);
+		if (tab == 0) out.line(0); // for readability
+		for (Section child : peekChildren().values()) child.write(out, tab + 1);
 	}
 
+	@SuppressWarnings("unchecked")
 	private void setKey(String key) {
-		if (!parent.isPresent()) return;
-		this.parent.get().children().remove(this.key);
-		this.parent.get().children().put(key, this);
+		Section parent = this.parent;
+		if (parent == null) return;
+		Map<String, Section> children = parent.children();
+		String from = this.key;
+		parent.detached(this);
 		this.key = key;
+		Section previous;
+		// a concurrent map publishes the move as a single copy, so readers never find the section missing
+		if (children instanceof CopyOnWriteMap) previous = ((CopyOnWriteMap<String, Section>) children).replaceKey(from, key, this);
+		else {
+			children.remove(from);
+			previous = children.put(key, this);
+		}
+		if (previous != null && previous != this) parent.detached(previous);
+		parent.attached(this);
+		modified();
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public Section find(CompiledPath path) {
+		return find(path.segments);
+	}
+
+	/** Find the {@link Section} at the specified path, or null if there is none **/
+	Section find(String[] path) {
+		Section section = this;
+		for (String key : path) {
+			section = section.peekChildren().get(key);
+			if (section == null) return null;
+		}
+		return section;
 	}
 
-	private void rename(String key, Path path) {
-		if (path.hasNext()) {
-			String next = path.next().get();
-			if (!this.children.containsKey(next)) return;
-			this.children.get(next).rename(key, path);
-		} else this.setKey(key);
+	/** Set the value of the {@link Section} at the specified path, creating one if necessary **/
+	void assign(String value, String[] path) {
+		create(value, path).setValue(value);
 	}
 
-	private void remove(Path path) {
-		if (path.hasNext()) {
-			Section child = this.children.get(path.next().get());
-			if (child != null) child.remove(path);
-		} else this.parent.ifPresent(p -> p.children().remove(this.key));
+	/** Rename the {@link Section} at the specified path, if it exists **/
+	void rename(String key, String[] path) {
+		Section section = find(path);
+		if (section != null) section.setKey(key);
 	}
 
-	private Section getOrCreate(String value, Path path) {
-		if (!path.hasNext()) return this;
-		String key = path.next().get();
-		Section child = this.children.get(key);
-		if (child == null && path.hasNext()) child = addChild(key);
-		else if (child == null) child = addChild(key, value);
-		return child.getOrCreate(value, path);
+	/** Remove the {@link Section} at the specified path, if it exists **/
+	void remove(String[] path) {
+		Section section = find(path);
+		if (section == null) return;
+		Section parent = section.parent;
+		if (parent == null || parent.children().remove(section.key) == null) return;
+		parent.detached(section);
+		parent.modified();
 	}
 
-	private Section getOrCreate(Supplier<String> value, Path path){
-		if (!path.hasNext()) return this;
-		String key = path.next().get();
-		Section child = this.children.get(key);
-		if (child == null && path.hasNext()) child = addChild(key);
-		else if (child == null) child = addChild(key, value.get());
-		return child.getOrCreate(value, path);
+	/** Get the {@link Section} at the specified path, creating any which are missing and giving the last the provided value if it is created **/
+	Section getOrCreate(String value, String[] path) {
+		return create(value, path);
 	}
 
-	private Optional<Section> get(Path path) {
-		if (!path.hasNext()) return Optional.of(this);
-		Section child = this.children.get(path.next().get());
-		if (child == null) return Optional.empty();
-		return child.get(path);
+	/** Get the {@link Section} at the specified path, creating any which are missing and giving the last the supplied value if it is created **/
+	Section getOrCreate(Supplier<String> value, String[] path) {
+		Section section = this;
+		for (int i = 0; i < path.length; i++) {
+			Section child = section.peekChildren().get(path[i]);
+			section = child != null ? child : section.addChild(path[i], i < path.length - 1 ? "" : value.get());
+		}
+		return section;
+	}
+
+	private Section create(String value, String[] path) {
+		Section section = this;
+		for (int i = 0; i < path.length; i++) {
+			Section child = section.peekChildren().get(path[i]);
+			section = child != null ? child : section.addChild(path[i], i < path.length - 1 ? "" : value);
+		}
+		return section;
+	}
+
+	/**
+	 * An immutable result of parsing a value, which remembers the value it was parsed from so a concurrently replaced value is never mistaken for it.<br>
+	 * Results of other types parsed from the same value are chained after it, so the chain holds at most one result per {@link ValueType}.
+	 */
+	private static final class Parsed<T> {
+
+		private final ValueType<T> type;
+		private final String source;
+		private final T value;
+		private final Parsed<?> next;
+
+		private Parsed(ValueType<T> type, String source, T value, Parsed<?> next) {
+			this.type = type;
+			this.source = source;
+			this.value = value;
+			this.next = next;
+		}
+
 	}
 
 }
@@ -0,0 +1,146 @@
+package com.gmail.justisroot.hmff;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * A table of canonical {@code String}s, so that the keys and values repeated throughout a file share a single instance.<br>
+ * <br>
+ * Files are deduplicated against a fresh table each time they are loaded, unless one is shared through {@link HMFF#setStringTable(StringTable)}.
+ * Repeated tokens are looked up straight from the characters being parsed, so only the first occurrence of each one creates a {@code String}.
+ * Keys are always deduplicated, while values are only deduplicated if they are at most {@value #MAX_VALUE_LENGTH} characters long,
+ * as longer values are rarely repeated.<br>
+ * <br>
+ * A table is safe to share between threads, and holds on to every {@code String} added to it until it is full, after which new {@code String}s are no longer added.
+ * Lookups never lock: {@code String}s are added by compare-and-set, and only growing the table is synchronized. A {@code String} added by another thread
+ * while the table grows may be left out of the grown table, in which case an equal one later takes its place, as deduplication is only ever an optimization.
+ */
+public final class StringTable {
+
+	/**
+	 * The length of the longest value which is deduplicated.
+	 */
+	public static final int MAX_VALUE_LENGTH = 32;
+
+	private static final int INITIAL_CAPACITY = 64;
+
+	private final int maxSize;
+
+	private volatile AtomicReferenceArray<String> strings = new AtomicReferenceArray<>(INITIAL_CAPACITY);
+	private final AtomicInteger size = new AtomicInteger();
+
+	/**
+	 * Create a {@link StringTable} which grows to hold as many {@code String}s as are added to it.
+	 */
+	public StringTable() {
+		this(Integer.MAX_VALUE);
+	}
+
+	/**
+	 * Create a {@link StringTable} which holds up to the provided number of {@code String}s.
+	 *
+	 * @param maxSize The number of {@code String}s past which no more are added
+	 */
+	public StringTable(int maxSize) {
+		this.maxSize = maxSize;
+	}
+
+	/**
+	 * Get the canonical instance of the provided {@code String}, adding it to this table if there is none yet.
+	 *
+	 * @param string The {@code String} to look up
+	 *
+	 * @return an equal {@code String} from this table, or the provided one if it was added or this table is full
+	 */
+	public String intern(String string) {
+		int hash = string.hashCode(), length = string.length();
+		AtomicReferenceArray<String> strings = this.strings;
+		int mask = strings.length() - 1;
+		for (int i = hash & mask, probes = 0; probes <= mask; i = (i + 1) & mask, probes++) {
+			String existing = strings.get(i);
+			if (existing == null) {
+				if (this.size.get() >= this.maxSize) return string;
+				if (strings.compareAndSet(i, null, string)) return added(strings, string);
+				existing = strings.get(i);
+			}
+			if (existing.length() == length && existing.hashCode() == hash && existing.equals(string)) return existing;
+		}
+		return string;
+	}
+
+	/**
+	 * Get the canonical instance of the {@code String} made up of the provided characters, creating and adding it if there is none yet.
+	 *
+	 * @param chars The characters to read from
+	 *
+	 * @param offset The index of the first character
+	 *
+	 * @param length The number of characters
+	 *
+	 * @return an equal {@code String} from this table, or a new one
+	 */
+	String intern(char[] chars, int offset, int length) {
+		int hash = 0;
+		for (int i = offset; i < offset + length; i++) hash = 31 * hash + chars[i];
+		AtomicReferenceArray<String> strings = this.strings;
+		int mask = strings.length() - 1;
+		for (int i = hash & mask, probes = 0; probes <= mask; i = (i + 1) & mask, probes++) {
+			String existing = strings.get(i);
+			if (existing == null) {
+				String string = new String(chars, offset, length);
+				if (this.size.get() >= this.maxSize) return string;
+				if (strings.compareAndSet(i, null, string)) return added(strings, string);
+				existing = strings.get(i);
+			}
+			if (existing.length() == length && existing.hashCode() == hash && matches(existing, chars, offset)) return existing;
+		}
+		return new String(chars, offset, length);
+	}
+
+	/** Get the canonical instance of a value, unless it is too long to be worth deduplicating **/
+	String value(String value) {
+		return value.length() <= MAX_VALUE_LENGTH ? intern(value) : value;
+	}
+
+	/** Get the canonical instance of a value made up of the provided characters, unless it is too long to be worth deduplicating **/
+	String value(char[] chars, int offset, int length) {
+		return length <= MAX_VALUE_LENGTH ? intern(chars, offset, length) : new String(chars, offset, length);
+	}
+
+	/**
+	 * Get the number of {@code String}s held by this table, which is only an estimate while {@code String}s are being added by other threads.
+	 *
+	 * @return the number of distinct {@code String}s added so far
+	 */
+	public int size() {
+		return this.size.get();
+	}
+
+	private String added(AtomicReferenceArray<String> strings, String string) {
+		if (this.size.incrementAndGet() * 2 > strings.length()) grow(strings);
+		return string;
+	}
+
+	/** Double the capacity, keeping it at most half full so that probes stay short **/
+	private synchronized void grow(AtomicReferenceArray<String> previous) {
+		if (this.strings != previous) return; // already grown by another thread
+		AtomicReferenceArray<String> strings = new AtomicReferenceArray<>(previous.length() * 2);
+		int mask = strings.length() - 1, size = 0;
+		for (int slot = 0; slot < previous.length(); slot++) {
+			String string = previous.get(slot);
+			if (string == null) continue;
+			int i = string.hashCode() & mask;
+			while (strings.get(i) != null) i = (i + 1) & mask;
+			strings.set(i, string);
+			size++;
+		}
+		this.strings = strings;
+		this.size.set(size);
+	}
+
+	private static boolean matches(String string, char[] chars, int offset) {
+		for (int i = 0; i < string.length(); i++) if (string.charAt(i) != chars[offset + i]) return false;
+		return true;
+	}
+
+}
@@ -0,0 +1,219 @@
+package com.gmail.justisroot.hmff;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Single pass, character level scanner for the HMFF format.<br>
+ * <br>
+ * Each call to {@link #next()} advances to the next non-blank line, exposing its indentation depth along with either its key and value, or its comment.<br>
+ * The only objects created per line are the resulting key, value and comment {@code String}s, and repeated keys and values are
+ * looked up in a {@link StringTable} rather than created again if one is provided.<br>
+ * <br>
+ * Input is either pulled from a {@linkplain Reader}, or decoded straight out of a {@linkplain ByteBuffer} into a small reusable window,
+ * so a memory mapped file is never copied onto the heap as raw bytes.
+ */
+final class Tokenizer {
+
+	static final int INDENT = Section.TAB.length();
+
+	private static final int BUFFER_SIZE = 8192;
+
+	private final Reader reader;
+	private final CharsetDecoder decoder;
+	private final boolean ascii;
+
+	private ByteBuffer bytes;
+	private char[] buffer;
+	private int position, limit;
+	private boolean eof;
+
+	private StringTable strings;
+
+	private boolean comment;
+	private int depth;
+	private String key, value;
+
+	Tokenizer(Reader reader) {
+		this.reader = reader;
+		this.decoder = null;
+		this.ascii = false;
+		this.buffer = new char[BUFFER_SIZE];
+	}
+
+	Tokenizer(ByteBuffer bytes, Charset charset) {
+		this.reader = null;
+		this.decoder = charset.newDecoder().onMalformedInput(CodingErrorAction.REPLACE).onUnmappableCharacter(CodingErrorAction.REPLACE);
+		this.ascii = isAsciiCompatible(charset);
+		this.buffer = new char[Math.max(16, Math.min(BUFFER_SIZE, bytes.remaining()))];
+		reset(bytes);
+	}
+
+	/**
+	 * Restart this byte backed {@link Tokenizer} on new input, reusing its buffer and decoder.
+	 *
+	 * @param bytes The bytes to tokenize next
+	 *
+	 * @return this {@link Tokenizer} instance
+	 */
+	Tokenizer reset(ByteBuffer bytes) {
+		this.bytes = bytes;
+		this.decoder.reset();
+		this.position = this.limit = 0;
+		this.eof = false;
+		return this;
+	}
+
+	/**
+	 * Deduplicate the keys and values of the lines tokenized from now on against the provided {@link StringTable}.
+	 *
+	 * @param strings The {@link StringTable} to look keys and values up in, or null to create every one
+	 *
+	 * @return this {@link Tokenizer} instance
+	 */
+	Tokenizer deduplicate(StringTable strings) {
+		this.strings = strings;
+		return this;
+	}
+
+	/**
+	 * Advance to the next non-blank line.
+	 *
+	 * @return true if a line was found, false if the input is exhausted
+	 *
+	 * @throws IOException if the underlying input could not be read
+	 */
+	boolean next() throws IOException {
+		for (int end = lineEnd(); end >= 0; end = lineEnd()) {
+			int start = this.position;
+			this.position = end < this.limit ? end + 1 : end;
+			if (scan(start, end)) return true;
+		}
+		return false;
+	}
+
+	/**
+	 * @return true if the current line is a comment, false if it is a key/value pair
+	 */
+	boolean isComment() {
+		return this.comment;
+	}
+
+	/**
+	 * @return the number of whole indents preceding the current line
+	 */
+	int depth() {
+		return this.depth;
+	}
+
+	/**
+	 * @return the key of the current line, or null if it is a comment
+	 */
+	String key() {
+		return this.key;
+	}
+
+	/**
+	 * @return the value of the current line, or its text if it is a comment
+	 */
+	String value() {
+		return this.value;
+	}
+
+	/** Find the end of the line starting at the current position, reading as necessary. Returns -1 once all input is consumed **/
+	private int lineEnd() throws IOException {
+		int scanned = this.position;
+		for (;;) {
+			for (int i = scanned; i < this.limit; i++) {
+				char c = this.buffer[i];
+				if (c == '\n' || c == '\r') return i;
+			}
+			if (this.eof) return this.position < this.limit ? this.limit : -1;
+			int pending = this.limit - this.position;
+			fill();
+			scanned = this.position + pending;
+		}
+	}
+
+	/** Shift the unconsumed characters to the front of the buffer, growing it if nearly full, and read in more **/
+	private void fill() throws IOException {
+		if (this.position > 0) {
+			System.arraycopy(this.buffer, this.position, this.buffer, 0, this.limit - this.position);
+			this.limit -= this.position;
+			this.position = 0;
+		}
+		if (this.buffer.length - this.limit < 2) this.buffer = Arrays.copyOf(this.buffer, this.buffer.length * 2);
+		int read = this.reader != null ? this.reader.read(this.buffer, this.limit, this.buffer.length - this.limit) : decode(this.buffer, this.limit, this.buffer.length - this.limit);
+		if (read < 0) this.eof = true;
+		else this.limit += read;
+	}
+
+	/** Decode up to length characters from the byte input, copying plain ASCII directly when the charset allows it **/
+	private int decode(char[] into, int offset, int length) {
+		ByteBuffer in = this.bytes;
+		if (!in.hasRemaining()) return -1;
+		if (this.ascii) {
+			int from = in.position(), to = Math.min(in.limit(), from + length), i = from;
+			for (byte b; i < to && (b = in.get(i)) >= 0; i++) into[offset + i - from] = (char) b;
+			in.position(i);
+			if (i > from) return i - from;
+		}
+		CharBuffer out = CharBuffer.wrap(into, offset, length);
+		this.decoder.decode(in, out, true);
+		if (!in.hasRemaining()) this.decoder.flush(out);
+		return out.position() - offset;
+	}
+
+	/** Tokenize the line between start and end, returning false if it is blank **/
+	private boolean scan(int start, int end) {
+		char[] line = this.buffer;
+		int i = start;
+		while (i < end && line[i] == ' ') i++;
+		int indent = (i - start) / INDENT;
+		while (i < end && line[i] <= ' ') i++;
+		if (i == end) return false;
+		this.depth = indent;
+		if (line[i] == Section.COMMENT_INDICATOR) {
+			int from = i + 1 < end && line[i + 1] == ' ' ? i + 2 : i + 1;
+			this.comment = true;
+			this.key = null;
+			this.value = new String(line, from, end - from);
+			return true;
+		}
+		this.comment = false;
+		int separator = i;
+		while (separator < end && line[separator] != Section.VALUE_SEPARATOR) separator++;
+		if (separator == end) {
+			while (line[end - 1] <= ' ') end--;
+			this.key = key(line, i, end - i);
+			this.value = "";
+		} else {
+			int from = separator + 1 < end && isWhitespace(line[separator + 1]) ? separator + 2 : separator + 1;
+			this.key = key(line, i, separator - i);
+			this.value = this.strings != null ? this.strings.value(line, from, end - from) : new String(line, from, end - from);
+		}
+		return true;
+	}
+
+	private String key(char[] line, int offset, int length) {
+		return this.strings != null ? this.strings.intern(line, offset, length) : new String(line, offset, length);
+	}
+
+	/** Charsets which encode every ASCII character as that single byte, and never use such a byte for anything else **/
+	static boolean isAsciiCompatible(Charset charset) {
+		return charset.equals(StandardCharsets.UTF_8) || charset.equals(StandardCharsets.US_ASCII) || charset.equals(StandardCharsets.ISO_8859_1);
+	}
+
+	/** Whitespace as matched by the regular expression {@code \s}, excluding line terminators **/
+	private static boolean isWhitespace(char c) {
+		return c == ' ' || c == '\t' || c == '\u000B' || c == '\f';
+	}
+
+}
@@ -0,0 +1,148 @@
+package com.gmail.justisroot.hmff;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A batch of modifications to a {@link HMFF}, built within {@link HMFF#update(java.util.function.Consumer)} and applied all at once.<br>
+ * <br>
+ * Nothing is modified until the batch commits. Reads made through {@link #snapshot()} see the contents as they were when the attempt began,
+ * which the commit validates, so a transaction whose reads have gone stale is run again rather than applied.<br>
+ * <br>
+ * The commit is only atomic to readers of {@link HMFF#snapshot()} and to writers which also go through {@link HMFF#update(java.util.function.Consumer)}.
+ * Modifications made directly on the {@link HMFF} are not excluded while the batch is applied, so a reader of the live tree may see part of it,
+ * unless it is a {@link ConcurrentHMFF}, whose every modification takes the same lock as the commit.
+ */
+public final class Transaction {
+
+	private final Section snapshot;
+	private final List<Op> ops = new ArrayList<>();
+
+	Transaction(Section snapshot) {
+		this.snapshot = snapshot;
+	}
+
+	/**
+	 * Get the contents of the {@link HMFF} as they were when this attempt at the transaction began.<br>
+	 * The modifications made so far in this transaction are not reflected in it.
+	 *
+	 * @return an immutable snapshot of the root {@link Section}
+	 */
+	public Section snapshot() {
+		return this.snapshot;
+	}
+
+	/**
+	 * Set the value of the {@link Section} located at the specified path when this transaction commits, creating one if necessary.
+	 *
+	 * @param value The value to set at the specified {@link Section}, represented using {@linkplain Object#toString()}
+	 *
+	 * @param path The path to the {@link Section} to set the value of
+	 *
+	 * @return this {@link Transaction}
+	 */
+	public Transaction set(Object value, String... path) {
+		this.ops.add(new Op(Journal.SET, path.clone(), value.toString()));
+		return this;
+	}
+
+	/**
+	 * Set the value of the {@link Section} located at the specified path when this transaction commits, creating one if necessary.
+	 *
+	 * @param value The value to set at the specified {@link Section}, represented using {@linkplain Object#toString()}
+	 *
+	 * @param path The path to the {@link Section} to set the value of
+	 *
+	 * @return this {@link Transaction}
+	 */
+	public Transaction set(Object value, CompiledPath path) {
+		this.ops.add(new Op(Journal.SET, path.segments, value.toString()));
+		return this;
+	}
+
+	/**
+	 * If the {@link Section} at the specified path exists when this transaction commits, remove it and all of its children.
+	 *
+	 * @param path The path to {@link Section} to remove
+	 *
+	 * @return this {@link Transaction}
+	 */
+	public Transaction removeSection(String... path) {
+		this.ops.add(new Op(Journal.REMOVE, path.clone(), null));
+		return this;
+	}
+
+	/**
+	 * If the {@link Section} at the specified path exists when this transaction commits, remove it and all of its children.
+	 *
+	 * @param path The path to {@link Section} to remove
+	 *
+	 * @return this {@link Transaction}
+	 */
+	public Transaction removeSection(CompiledPath path) {
+		this.ops.add(new Op(Journal.REMOVE, path.segments, null));
+		return this;
+	}
+
+	/**
+	 * Replace the key/name of the {@link Section} at the specified path when this transaction commits.
+	 *
+	 * @param name The new name of the {@link Section} at the specified path
+	 *
+	 * @param path The path to the {@link Section} to rename
+	 *
+	 * @return this {@link Transaction}
+	 */
+	public Transaction renameSection(String name, String... path) {
+		this.ops.add(new Op(Journal.RENAME, path.clone(), name));
+		return this;
+	}
+
+	/**
+	 * Replace the key/name of the {@link Section} at the specified path when this transaction commits.
+	 *
+	 * @param name The new name of the {@link Section} at the specified path
+	 *
+	 * @param path The path to the {@link Section} to rename
+	 *
+	 * @return this {@link Transaction}
+	 */
+	public Transaction renameSection(String name, CompiledPath path) {
+		this.ops.add(new Op(Journal.RENAME, path.segments, name));
+		return this;
+	}
+
+	/**
+	 * Check whether this transaction holds any modifications.
+	 *
+	 * @return true if nothing has been modified in this transaction, false otherwise
+	 */
+	public boolean isEmpty() {
+		return this.ops.isEmpty();
+	}
+
+	/**
+	 * Apply the modifications of this transaction, in the order they were made.
+	 *
+	 * @param replayer The {@link Journal.Replayer} to apply each modification with
+	 */
+	void apply(Journal.Replayer replayer) {
+		for (Op op : this.ops) replayer.apply(op.operation, op.path, op.argument);
+	}
+
+	/** A single modification, recorded the same way as a {@link Journal} record **/
+	private static final class Op {
+
+		private final byte operation;
+		private final String[] path;
+		private final String argument;
+
+		private Op(byte operation, String[] path, String argument) {
+			this.operation = operation;
+			this.path = path;
+			this.argument = argument;
+		}
+
+	}
+
+}
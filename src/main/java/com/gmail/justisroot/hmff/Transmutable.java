@@ -2,31 +2,68 @@ package com.gmail.justisroot.hmff;
 
 import java.util.Arrays;
 import java.util.Optional;
+import java.util.OptionalInt;
 import java.util.function.Function;
+import java.util.function.IntFunction;
 import java.util.function.Supplier;
-import java.util.stream.Stream;
 
+/**
+ * The typed getters and setters of a {@link Section}, which is the only class implementing it.<br>
+ * <br>
+ * Each takes its path either as a {@link CompiledPath} or as {@code String} segments. The {@code String} overloads wrap their segments
+ * without copying them and delegate to the {@link CompiledPath} ones, which hold the implementation and documentation of each.
+ */
 interface Transmutable {
 
+	/**
+	 * Equivalent to {@link #getSection(CompiledPath)}, with the path given as separate {@code String} segments.
+	 */
+	default Optional<Section> getSection(String... path) {
+		return getSection(CompiledPath.wrap(path));
+	}
+
 	/**
 	 * Get the {@link Section} located at the specified path.
 	 *
 	 * @param path The path to the {@link Section}<br>
-	 * e.g {@code ("path", "to", "section")}<br>
+	 * e.g {@code CompiledPath.parse("path.to.section")}<br>
 	 *
 	 * @return An {@linkplain Optional} containing the {@link Section} located at the specified path, or empty if no {@link Section} is present
 	 */
-	Optional<Section> getSection(String... path);
+	Optional<Section> getSection(CompiledPath path);
+
+	/**
+	 * Find the {@link Section} located at the specified path, without wrapping it in an {@linkplain Optional}.
+	 *
+	 * @param path The path to the {@link Section}
+	 *
+	 * @return the {@link Section} located at the specified path, or null if no {@link Section} is present
+	 */
+	Section find(CompiledPath path);
+
+	/**
+	 * Equivalent to {@link #getOrCreateSection(CompiledPath)}, with the path given as separate {@code String} segments.
+	 */
+	default Section getOrCreateSection(String... path) {
+		return getOrCreateSection(CompiledPath.wrap(path));
+	}
 
 	/**
 	 * Get the {@link Section} located at the specified path, creating one if necessary.
 	 *
 	 * @param path The path to the {@link Section}<br>
-	 * e.g {@code ("path", "to", "section")}
+	 * e.g {@code CompiledPath.parse("path.to.section")}
 	 *
 	 * @return The {@link Section} located at the specified path
 	 */
-	Section getOrCreateSection(String... path);
+	Section getOrCreateSection(CompiledPath path);
+
+	/**
+	 * Equivalent to {@link #set(Object, CompiledPath)}, with the path given as separate {@code String} segments.
+	 */
+	default void set(Object value, String... path) {
+		set(value, CompiledPath.wrap(path));
+	}
 
 	/**
 	 * Set the value of the {@link Section} located at the specified path, creating one if necessary.
@@ -35,7 +72,14 @@ interface Transmutable {
 	 *
 	 * @param path The path to the {@link Section} to set the value of
 	 */
-	void set(Object value, String... path);
+	void set(Object value, CompiledPath path);
+
+	/**
+	 * Equivalent to {@link #set(Object[], CompiledPath)}, with the path given as separate {@code String} segments.
+	 */
+	default void set(Object[] value, String... path) {
+		set(value, CompiledPath.wrap(path));
+	}
 
 	/**
 	 * Set the value of the {@link Section} located at the specified path, creating one if necessary.
@@ -45,10 +89,17 @@ interface Transmutable {
 	 *
 	 * @param path The path to the {@link Section} to set the value of
 	 */
-	default void set(Object[] value, String... path) {
+	default void set(Object[] value, CompiledPath path) {
 		set(Arrays.toString(value), path);
 	}
 
+	/**
+	 * Equivalent to {@link #getString(CompiledPath)}, with the path given as separate {@code String} segments.
+	 */
+	default Optional<String> getString(String... path) {
+		return getString(CompiledPath.wrap(path));
+	}
+
 	/**
 	 * Get a {@code String} representation of the value of the {@link Section} at the specified path.
 	 *
@@ -56,7 +107,14 @@ interface Transmutable {
 	 *
 	 * @return An {@linkplain Optional} containing a {@code String} representation of the value of the {@link Section} at the specified path, or empty if the {@link Section} doesn't exist
 	 */
-	Optional<String> getString(String... path);
+	Optional<String> getString(CompiledPath path);
+
+	/**
+	 * Equivalent to {@link #getOrSetString(String, CompiledPath)}, with the path given as separate {@code String} segments.
+	 */
+	default String getOrSetString(String value, String... path) {
+		return getOrSetString(value, CompiledPath.wrap(path));
+	}
 
 	/**
 	 * Get a {@code String} representation of the value of the {@link Section} at the specified path, creating one with the specified value if necessary.
@@ -67,7 +125,14 @@ interface Transmutable {
 	 *
 	 * @return A {@code String} representation of the value located at the specified path
 	 */
-	String getOrSetString(String value, String... path);
+	String getOrSetString(String value, CompiledPath path);
+
+	/**
+	 * Equivalent to {@link #getOrSetString(Supplier<String>, CompiledPath)}, with the path given as separate {@code String} segments.
+	 */
+	default String getOrSetString(Supplier<String> value, String... path) {
+		return getOrSetString(value, CompiledPath.wrap(path));
+	}
 
 	/**
 	 * Get a {@code String} representation of the value of the {@link Section} at the specified path, creating one with the specified value if necessary.
@@ -78,7 +143,14 @@ interface Transmutable {
 	 *
 	 * @return A {@code String} representation of the value located at the specified path
 	 */
-	String getOrSetString(Supplier<String> value, String... path);
+	String getOrSetString(Supplier<String> value, CompiledPath path);
+
+	/**
+	 * Equivalent to {@link #getStringArray(CompiledPath)}, with the path given as separate {@code String} segments.
+	 */
+	default Optional<String[]> getStringArray(String... path) {
+		return getStringArray(CompiledPath.wrap(path));
+	}
 
 	/**
 	 * Get a {@code String} array representation of the value of the {@link Section} at the specified path.
@@ -89,10 +161,17 @@ interface Transmutable {
 	 *
 	 * @return An {@linkplain Optional} containing a {@code String} array representation of the value of the {@link Section} at the specified path, or empty if the {@link Section} doesn't exist
 	 */
-	default Optional<String[]> getStringArray(String... path) {
-		Optional<String> value = getString(path).map(String::trim);
+	default Optional<String[]> getStringArray(CompiledPath path) {
+		Optional<String> value = getString(path);
 		if (!value.isPresent()) return Optional.empty();
-		return Optional.of(splitStream(value.get()).toArray(String[]::new));
+		return Optional.of(parseArray(value.get(), String[]::new, ArrayParser::string));
+	}
+
+	/**
+	 * Equivalent to {@link #getOrSetStringArray(String[], CompiledPath)}, with the path given as separate {@code String} segments.
+	 */
+	default String[] getOrSetStringArray(String[] value, String... path) {
+		return getOrSetStringArray(value, CompiledPath.wrap(path));
 	}
 
 	/**
@@ -106,8 +185,15 @@ interface Transmutable {
 	 *
 	 * @return A {@code String} array representation of the value of the {@link Section} at the specified path
 	 */
-	default String[] getOrSetStringArray(String[] value, String... path) {
-		return splitStream(getOrSetString(() -> Arrays.toString(value), path)).toArray(String[]::new);
+	default String[] getOrSetStringArray(String[] value, CompiledPath path) {
+		return parseArray(getOrSetString(() -> Arrays.toString(value), path), String[]::new, ArrayParser::string);
+	}
+
+	/**
+	 * Equivalent to {@link #getOrSetStringArray(Supplier<String[]>, CompiledPath)}, with the path given as separate {@code String} segments.
+	 */
+	default String[] getOrSetStringArray(Supplier<String[]> value, String... path) {
+		return getOrSetStringArray(value, CompiledPath.wrap(path));
 	}
 
 	/**
@@ -121,8 +207,15 @@ interface Transmutable {
 	 *
 	 * @return A {@code String} array representation of the value of the {@link Section} at the specified path
 	 */
-	default String[] getOrSetStringArray(Supplier<String[]> value, String... path) {
-		return splitStream(getOrSetString(() -> Arrays.toString(value.get()), path)).toArray(String[]::new);
+	default String[] getOrSetStringArray(Supplier<String[]> value, CompiledPath path) {
+		return parseArray(getOrSetString(() -> Arrays.toString(value.get()), path), String[]::new, ArrayParser::string);
+	}
+
+	/**
+	 * Equivalent to {@link #set(boolean[], CompiledPath)}, with the path given as separate {@code String} segments.
+	 */
+	default void set(boolean[] value, String... path) {
+		set(value, CompiledPath.wrap(path));
 	}
 
 	/**
@@ -133,10 +226,17 @@ interface Transmutable {
 	 *
 	 * @param path The path to the {@link Section} to set the value of
 	 */
-	default void set(boolean[] value, String... path) {
+	default void set(boolean[] value, CompiledPath path) {
 		set(Arrays.toString(value), path);
 	}
 
+	/**
+	 * Equivalent to {@link #getBoolean(CompiledPath)}, with the path given as separate {@code String} segments.
+	 */
+	default Optional<Boolean> getBoolean(String... path) {
+		return getBoolean(CompiledPath.wrap(path));
+	}
+
 	/**
 	 * Get a {@code Boolean} representation of the value of the {@link Section} at the specified path.
 	 *
@@ -144,8 +244,15 @@ interface Transmutable {
 	 *
 	 * @return An {@linkplain Optional} containing a {@code Boolean} representation of the value of the {@link Section} at the specified path, or empty if the {@link Section} doesn't exist
 	 */
-	default Optional<Boolean> getBoolean(String... path) {
-		return getString(path).map(String::trim).map(Boolean::parseBoolean);
+	default Optional<Boolean> getBoolean(CompiledPath path) {
+		return Optional.ofNullable(parsed(ValueType.BOOLEAN, path));
+	}
+
+	/**
+	 * Equivalent to {@link #getOrSetBoolean(Boolean, CompiledPath)}, with the path given as separate {@code String} segments.
+	 */
+	default Boolean getOrSetBoolean(Boolean value, String... path) {
+		return getOrSetBoolean(value, CompiledPath.wrap(path));
 	}
 
 	/**
@@ -157,10 +264,17 @@ interface Transmutable {
 	 *
 	 * @return A {@code Boolean} representation of the value located at the specified path
 	 */
-	default Boolean getOrSetBoolean(Boolean value, String... path) {
+	default Boolean getOrSetBoolean(Boolean value, CompiledPath path) {
 		return Boolean.parseBoolean(getOrSetString(value.toString(), path).trim());
 	}
 
+	/**
+	 * Equivalent to {@link #getOrSetBoolean(Supplier<Boolean>, CompiledPath)}, with the path given as separate {@code String} segments.
+	 */
+	default Boolean getOrSetBoolean(Supplier<Boolean> value, String... path) {
+		return getOrSetBoolean(value, CompiledPath.wrap(path));
+	}
+
 	/**
 	 * Get a {@code Boolean} representation of the value of the {@link Section} at the specified path, creating one with the specified value if necessary.
 	 *
@@ -170,10 +284,17 @@ interface Transmutable {
 	 *
 	 * @return A {@code Boolean} representation of the value located at the specified path
 	 */
-	default Boolean getOrSetBoolean(Supplier<Boolean> value, String... path) {
+	default Boolean getOrSetBoolean(Supplier<Boolean> value, CompiledPath path) {
 		return Boolean.parseBoolean(getOrSetString(() -> value.get().toString(), path).trim());
 	}
 
+	/**
+	 * Equivalent to {@link #getBooleanArray(CompiledPath)}, with the path given as separate {@code String} segments.
+	 */
+	default Optional<Boolean[]> getBooleanArray(String... path) {
+		return getBooleanArray(CompiledPath.wrap(path));
+	}
+
 	/**
 	 * Get a {@code Boolean} array representation of the value of the {@link Section} at the specified path.
 	 * <br>
@@ -183,10 +304,17 @@ interface Transmutable {
 	 *
 	 * @return An {@linkplain Optional} containing a {@code Boolean} array representation of the value of the {@link Section} at the specified path, or empty if the {@link Section} doesn't exist
 	 */
-	default Optional<Boolean[]> getBooleanArray(String... path) {
-		Optional<String> value = getString(path).map(String::trim);
+	default Optional<Boolean[]> getBooleanArray(CompiledPath path) {
+		Optional<String> value = getString(path);
 		if (!value.isPresent()) return Optional.empty();
-		return Optional.of(splitStream(value.get()).map(Boolean::parseBoolean).toArray(Boolean[]::new));
+		return Optional.of(parseArray(value.get(), Boolean[]::new, ArrayParser::parseBoolean));
+	}
+
+	/**
+	 * Equivalent to {@link #getOrSetBooleanArray(Boolean[], CompiledPath)}, with the path given as separate {@code String} segments.
+	 */
+	default Boolean[] getOrSetBooleanArray(Boolean[] value, String... path) {
+		return getOrSetBooleanArray(value, CompiledPath.wrap(path));
 	}
 
 	/**
@@ -200,8 +328,15 @@ interface Transmutable {
 	 *
 	 * @return A {@code Boolean} array representation of the value of the {@link Section} at the specified path
 	 */
-	default Boolean[] getOrSetBooleanArray(Boolean[] value, String... path) {
-		return splitStream(getOrSetString(() -> Arrays.toString(value), path)).map(Boolean::parseBoolean).toArray(Boolean[]::new);
+	default Boolean[] getOrSetBooleanArray(Boolean[] value, CompiledPath path) {
+		return parseArray(getOrSetString(() -> Arrays.toString(value), path), Boolean[]::new, ArrayParser::parseBoolean);
+	}
+
+	/**
+	 * Equivalent to {@link #getOrSetBooleanArray(Supplier<Boolean[]>, CompiledPath)}, with the path given as separate {@code String} segments.
+	 */
+	default Boolean[] getOrSetBooleanArray(Supplier<Boolean[]> value, String... path) {
+		return getOrSetBooleanArray(value, CompiledPath.wrap(path));
 	}
 
 	/**
@@ -215,8 +350,42 @@ interface Transmutable {
 	 *
 	 * @return A {@code Boolean} array representation of the value of the {@link Section} at the specified path
 	 */
-	default Boolean[] getOrSetBooleanArray(Supplier<Boolean[]> value, String... path) {
-		return splitStream(getOrSetString(() -> Arrays.toString(value.get()), path)).map(Boolean::parseBoolean).toArray(Boolean[]::new);
+	default Boolean[] getOrSetBooleanArray(Supplier<Boolean[]> value, CompiledPath path) {
+		return parseArray(getOrSetString(() -> Arrays.toString(value.get()), path), Boolean[]::new, ArrayParser::parseBoolean);
+	}
+
+	/**
+	 * Equivalent to {@link #getBooleanArray(boolean[], CompiledPath)}, with the path given as separate {@code String} segments.
+	 */
+	default boolean[] getBooleanArray(boolean[] def, String... path) {
+		return getBooleanArray(def, CompiledPath.wrap(path));
+	}
+
+	/**
+	 * Get the value of the {@link Section} at the specified path as a primitive {@code boolean} array, parsed straight from the value without boxing its elements.<br>
+	 * <br>
+	 * If the format {@code [s1, s2, s3]} is found, it will be used to parse, otherwise the list elements will be split using whitespace.
+	 *
+	 * @param def The array to return if the {@link Section} doesn't exist
+	 *
+	 * @param path The path to the {@link Section} where the value is located
+	 *
+	 * @return A {@code boolean} array representation of the value of the {@link Section} at the specified path, or the provided default
+	 */
+	default boolean[] getBooleanArray(boolean[] def, CompiledPath path) {
+		Optional<String> value = getString(path);
+		if (!value.isPresent()) return def;
+		ArrayParser parser = new ArrayParser(value.get());
+		boolean[] array = new boolean[parser.size()];
+		for (int i = 0; parser.next(); i++) array[i] = parser.parseBoolean();
+		return array;
+	}
+
+	/**
+	 * Equivalent to {@link #set(int[], CompiledPath)}, with the path given as separate {@code String} segments.
+	 */
+	default void set(int[] value, String... path) {
+		set(value, CompiledPath.wrap(path));
 	}
 
 	/**
@@ -227,10 +396,17 @@ interface Transmutable {
 	 *
 	 * @param path The path to the {@link Section} to set the value of
 	 */
-	default void set(int[] value, String... path) {
+	default void set(int[] value, CompiledPath path) {
 		set(Arrays.toString(value), path);
 	}
 
+	/**
+	 * Equivalent to {@link #getInteger(CompiledPath)}, with the path given as separate {@code String} segments.
+	 */
+	default Optional<Integer> getInteger(String... path) {
+		return getInteger(CompiledPath.wrap(path));
+	}
+
 	/**
 	 * Get a {@code Integer} representation of the value of the {@link Section} at the specified path.
 	 *
@@ -238,8 +414,15 @@ interface Transmutable {
 	 *
 	 * @return An {@linkplain Optional} containing a {@code Integer} representation of the value of the {@link Section} at the specified path, or empty if the {@link Section} doesn't exist
 	 */
-	default Optional<Integer> getInteger(String... path) {
-		return parseNumber(getString(path).map(String::trim), Integer::parseInt);
+	default Optional<Integer> getInteger(CompiledPath path) {
+		return Optional.ofNullable(parsed(ValueType.INTEGER, path));
+	}
+
+	/**
+	 * Equivalent to {@link #getOrSetInteger(Integer, CompiledPath)}, with the path given as separate {@code String} segments.
+	 */
+	default Integer getOrSetInteger(Integer value, String... path) {
+		return getOrSetInteger(value, CompiledPath.wrap(path));
 	}
 
 	/**
@@ -251,10 +434,17 @@ interface Transmutable {
 	 *
 	 * @return A {@code Integer} representation of the value located at the specified path
 	 */
-	default Integer getOrSetInteger(Integer value, String... path) {
+	default Integer getOrSetInteger(Integer value, CompiledPath path) {
 		return Integer.parseInt(getOrSetString(value.toString(), path).trim());
 	}
 
+	/**
+	 * Equivalent to {@link #getOrSetInteger(Supplier<Integer>, CompiledPath)}, with the path given as separate {@code String} segments.
+	 */
+	default Integer getOrSetInteger(Supplier<Integer> value, String... path) {
+		return getOrSetInteger(value, CompiledPath.wrap(path));
+	}
+
 	/**
 	 * Get a {@code Integer} representation of the value of the {@link Section} at the specified path, creating one with the specified value if necessary.
 	 *
@@ -264,10 +454,17 @@ interface Transmutable {
 	 *
 	 * @return A {@code Integer} representation of the value located at the specified path
 	 */
-	default Integer getOrSetInteger(Supplier<Integer> value, String... path) {
+	default Integer getOrSetInteger(Supplier<Integer> value, CompiledPath path) {
 		return Integer.parseInt(getOrSetString(() -> value.get().toString(), path).trim());
 	}
 
+	/**
+	 * Equivalent to {@link #getIntegerArray(CompiledPath)}, with the path given as separate {@code String} segments.
+	 */
+	default Optional<Integer[]> getIntegerArray(String... path) {
+		return getIntegerArray(CompiledPath.wrap(path));
+	}
+
 	/**
 	 * Get a {@code Integer} array representation of the value of the {@link Section} at the specified path.
 	 * <br>
@@ -277,10 +474,17 @@ interface Transmutable {
 	 *
 	 * @return An {@linkplain Optional} containing a {@code Integer} array representation of the value of the {@link Section} at the specified path, or empty if the {@link Section} doesn't exist
 	 */
-	default Optional<Integer[]> getIntegerArray(String... path) {
-		Optional<String> value = getString(path).map(String::trim);
+	default Optional<Integer[]> getIntegerArray(CompiledPath path) {
+		Optional<String> value = getString(path);
 		if (!value.isPresent()) return Optional.empty();
-		return Optional.of(splitStream(value.get()).map(Integer::parseInt).toArray(Integer[]::new));
+		return Optional.of(parseArray(value.get(), Integer[]::new, ArrayParser::parseInt));
+	}
+
+	/**
+	 * Equivalent to {@link #getOrSetIntegerArray(Integer[], CompiledPath)}, with the path given as separate {@code String} segments.
+	 */
+	default Integer[] getOrSetIntegerArray(Integer[] value, String... path) {
+		return getOrSetIntegerArray(value, CompiledPath.wrap(path));
 	}
 
 	/**
@@ -294,8 +498,15 @@ interface Transmutable {
 	 *
 	 * @return A {@code Integer} array representation of the value of the {@link Section} at the specified path
 	 */
-	default Integer[] getOrSetIntegerArray(Integer[] value, String... path) {
-		return splitStream(getOrSetString(() -> Arrays.toString(value), path)).map(Integer::parseInt).toArray(Integer[]::new);
+	default Integer[] getOrSetIntegerArray(Integer[] value, CompiledPath path) {
+		return parseArray(getOrSetString(() -> Arrays.toString(value), path), Integer[]::new, ArrayParser::parseInt);
+	}
+
+	/**
+	 * Equivalent to {@link #getOrSetIntegerArray(Supplier<Integer[]>, CompiledPath)}, with the path given as separate {@code String} segments.
+	 */
+	default Integer[] getOrSetIntegerArray(Supplier<Integer[]> value, String... path) {
+		return getOrSetIntegerArray(value, CompiledPath.wrap(path));
 	}
 
 	/**
@@ -309,8 +520,83 @@ interface Transmutable {
 	 *
 	 * @return A {@code Integer} array representation of the value of the {@link Section} at the specified path
 	 */
-	default Integer[] getOrSetIntegerArray(Supplier<Integer[]> value, String... path) {
-		return splitStream(getOrSetString(() -> Arrays.toString(value.get()), path)).map(Integer::parseInt).toArray(Integer[]::new);
+	default Integer[] getOrSetIntegerArray(Supplier<Integer[]> value, CompiledPath path) {
+		return parseArray(getOrSetString(() -> Arrays.toString(value.get()), path), Integer[]::new, ArrayParser::parseInt);
+	}
+
+	/**
+	 * Equivalent to {@link #getInt(CompiledPath)}, with the path given as separate {@code String} segments.
+	 */
+	default OptionalInt getInt(String... path) {
+		return getInt(CompiledPath.wrap(path));
+	}
+
+	/**
+	 * Get the value of the {@link Section} at the specified path as a primitive {@code int}, without boxing it.
+	 *
+	 * @param path The path to the {@link Section} where the value is located
+	 *
+	 * @return An {@linkplain OptionalInt} containing the {@code int} representation of the value of the {@link Section} at the specified path, or empty if the {@link Section} doesn't exist or its value isn't a valid {@code int}
+	 */
+	default OptionalInt getInt(CompiledPath path) {
+		Integer value = parsed(ValueType.INTEGER, path);
+		return value == null ? OptionalInt.empty() : OptionalInt.of(value);
+	}
+
+	/**
+	 * Equivalent to {@link #getInt(int, CompiledPath)}, with the path given as separate {@code String} segments.
+	 */
+	default int getInt(int def, String... path) {
+		return getInt(def, CompiledPath.wrap(path));
+	}
+
+	/**
+	 * Get the value of the {@link Section} at the specified path as a primitive {@code int}, without boxing it.
+	 *
+	 * @param def The value to return if the {@link Section} doesn't exist, or its value isn't a valid {@code int}
+	 *
+	 * @param path The path to the {@link Section} where the value is located
+	 *
+	 * @return The {@code int} representation of the value of the {@link Section} at the specified path, or the provided default
+	 */
+	default int getInt(int def, CompiledPath path) {
+		Integer value = parsed(ValueType.INTEGER, path);
+		return value == null ? def : value;
+	}
+
+	/**
+	 * Equivalent to {@link #getIntArray(int[], CompiledPath)}, with the path given as separate {@code String} segments.
+	 */
+	default int[] getIntArray(int[] def, String... path) {
+		return getIntArray(def, CompiledPath.wrap(path));
+	}
+
+	/**
+	 * Get the value of the {@link Section} at the specified path as a primitive {@code int} array, parsed straight from the value without boxing its elements.<br>
+	 * <br>
+	 * If the format {@code [s1, s2, s3]} is found, it will be used to parse, otherwise the list elements will be split using whitespace.<br>
+	 * Throws a {@linkplain NumberFormatException} if any of the elements are not valid numbers, like the boxed array getters.
+	 *
+	 * @param def The array to return if the {@link Section} doesn't exist
+	 *
+	 * @param path The path to the {@link Section} where the value is located
+	 *
+	 * @return A {@code int} array representation of the value of the {@link Section} at the specified path, or the provided default
+	 */
+	default int[] getIntArray(int[] def, CompiledPath path) {
+		Optional<String> value = getString(path);
+		if (!value.isPresent()) return def;
+		ArrayParser parser = new ArrayParser(value.get());
+		int[] array = new int[parser.size()];
+		for (int i = 0; parser.next(); i++) array[i] = parser.parseInt();
+		return array;
+	}
+
+	/**
+	 * Equivalent to {@link #set(byte[], CompiledPath)}, with the path given as separate {@code String} segments.
+	 */
+	default void set(byte[] value, String... path) {
+		set(value, CompiledPath.wrap(path));
 	}
 
 	/**
@@ -321,10 +607,17 @@ interface Transmutable {
 	 *
 	 * @param path The path to the {@link Section} to set the value of
 	 */
-	default void set(byte[] value, String... path) {
+	default void set(byte[] value, CompiledPath path) {
 		set(Arrays.toString(value), path);
 	}
 
+	/**
+	 * Equivalent to {@link #getByte(CompiledPath)}, with the path given as separate {@code String} segments.
+	 */
+	default Optional<Byte> getByte(String... path) {
+		return getByte(CompiledPath.wrap(path));
+	}
+
 	/**
 	 * Get a {@code Byte} representation of the value of the {@link Section} at the specified path.
 	 *
@@ -332,8 +625,15 @@ interface Transmutable {
 	 *
 	 * @return An {@linkplain Optional} containing a {@code Byte} representation of the value of the {@link Section} at the specified path, or empty if the {@link Section} doesn't exist
 	 */
-	default Optional<Byte> getByte(String... path) {
-		return parseNumber(getString(path).map(String::trim), Byte::parseByte);
+	default Optional<Byte> getByte(CompiledPath path) {
+		return Optional.ofNullable(parsed(ValueType.BYTE, path));
+	}
+
+	/**
+	 * Equivalent to {@link #getOrSetByte(Byte, CompiledPath)}, with the path given as separate {@code String} segments.
+	 */
+	default Byte getOrSetByte(Byte value, String... path) {
+		return getOrSetByte(value, CompiledPath.wrap(path));
 	}
 
 	/**
@@ -345,10 +645,17 @@ interface Transmutable {
 	 *
 	 * @return A {@code Byte} representation of the value located at the specified path
 	 */
-	default Byte getOrSetByte(Byte value, String... path) {
+	default Byte getOrSetByte(Byte value, CompiledPath path) {
 		return Byte.parseByte(getOrSetString(value.toString(), path).trim());
 	}
 
+	/**
+	 * Equivalent to {@link #getOrSetByte(Supplier<Byte>, CompiledPath)}, with the path given as separate {@code String} segments.
+	 */
+	default Byte getOrSetByte(Supplier<Byte> value, String... path) {
+		return getOrSetByte(value, CompiledPath.wrap(path));
+	}
+
 	/**
 	 * Get a {@code Byte} representation of the value of the {@link Section} at the specified path, creating one with the specified value if necessary.
 	 *
@@ -358,10 +665,17 @@ interface Transmutable {
 	 *
 	 * @return A {@code Byte} representation of the value located at the specified path
 	 */
-	default Byte getOrSetByte(Supplier<Byte> value, String... path) {
+	default Byte getOrSetByte(Supplier<Byte> value, CompiledPath path) {
 		return Byte.parseByte(getOrSetString(() -> value.get().toString(), path).trim());
 	}
 
+	/**
+	 * Equivalent to {@link #getByteArray(CompiledPath)}, with the path given as separate {@code String} segments.
+	 */
+	default Optional<Byte[]> getByteArray(String... path) {
+		return getByteArray(CompiledPath.wrap(path));
+	}
+
 	/**
 	 * Get a {@code Byte} array representation of the value of the {@link Section} at the specified path.
 	 * <br>
@@ -371,10 +685,17 @@ interface Transmutable {
 	 *
 	 * @return An {@linkplain Optional} containing a {@code Byte} array representation of the value of the {@link Section} at the specified path, or empty if the {@link Section} doesn't exist
 	 */
-	default Optional<Byte[]> getByteArray(String... path) {
-		Optional<String> value = getString(path).map(String::trim);
+	default Optional<Byte[]> getByteArray(CompiledPath path) {
+		Optional<String> value = getString(path);
 		if (!value.isPresent()) return Optional.empty();
-		return Optional.of(splitStream(value.get()).map(Byte::parseByte).toArray(Byte[]::new));
+		return Optional.of(parseArray(value.get(), Byte[]::new, ArrayParser::parseByte));
+	}
+
+	/**
+	 * Equivalent to {@link #getOrSetByteArray(Byte[], CompiledPath)}, with the path given as separate {@code String} segments.
+	 */
+	default Byte[] getOrSetByteArray(Byte[] value, String... path) {
+		return getOrSetByteArray(value, CompiledPath.wrap(path));
 	}
 
 	/**
@@ -388,8 +709,15 @@ interface Transmutable {
 	 *
 	 * @return A {@code Byte} array representation of the value of the {@link Section} at the specified path
 	 */
-	default Byte[] getOrSetByteArray(Byte[] value, String... path) {
-		return splitStream(getOrSetString(() -> Arrays.toString(value), path)).map(Byte::parseByte).toArray(Byte[]::new);
+	default Byte[] getOrSetByteArray(Byte[] value, CompiledPath path) {
+		return parseArray(getOrSetString(() -> Arrays.toString(value), path), Byte[]::new, ArrayParser::parseByte);
+	}
+
+	/**
+	 * Equivalent to {@link #getOrSetByteArray(Supplier<Byte[]>, CompiledPath)}, with the path given as separate {@code String} segments.
+	 */
+	default Byte[] getOrSetByteArray(Supplier<Byte[]> value, String... path) {
+		return getOrSetByteArray(value, CompiledPath.wrap(path));
 	}
 
 	/**
@@ -403,8 +731,15 @@ interface Transmutable {
 	 *
 	 * @return A {@code Byte} array representation of the value of the {@link Section} at the specified path
 	 */
-	default Byte[] getOrSetByteArray(Supplier<Byte[]> value, String... path) {
-		return splitStream(getOrSetString(() -> Arrays.toString(value.get()), path)).map(Byte::parseByte).toArray(Byte[]::new);
+	default Byte[] getOrSetByteArray(Supplier<Byte[]> value, CompiledPath path) {
+		return parseArray(getOrSetString(() -> Arrays.toString(value.get()), path), Byte[]::new, ArrayParser::parseByte);
+	}
+
+	/**
+	 * Equivalent to {@link #set(long[], CompiledPath)}, with the path given as separate {@code String} segments.
+	 */
+	default void set(long[] value, String... path) {
+		set(value, CompiledPath.wrap(path));
 	}
 
 	/**
@@ -415,10 +750,17 @@ interface Transmutable {
 	 *
 	 * @param path The path to the {@link Section} to set the value of
 	 */
-	default void set(long[] value, String... path) {
+	default void set(long[] value, CompiledPath path) {
 		set(Arrays.toString(value), path);
 	}
 
+	/**
+	 * Equivalent to {@link #getLong(CompiledPath)}, with the path given as separate {@code String} segments.
+	 */
+	default Optional<Long> getLong(String... path) {
+		return getLong(CompiledPath.wrap(path));
+	}
+
 	/**
 	 * Get a {@code Long} representation of the value of the {@link Section} at the specified path.
 	 *
@@ -426,8 +768,15 @@ interface Transmutable {
 	 *
 	 * @return An {@linkplain Optional} containing a {@code Long} representation of the value of the {@link Section} at the specified path, or empty if the {@link Section} doesn't exist
 	 */
-	default Optional<Long> getLong(String... path) {
-		return parseNumber(getString(path).map(String::trim), Long::parseLong);
+	default Optional<Long> getLong(CompiledPath path) {
+		return Optional.ofNullable(parsed(ValueType.LONG, path));
+	}
+
+	/**
+	 * Equivalent to {@link #getOrSetLong(Long, CompiledPath)}, with the path given as separate {@code String} segments.
+	 */
+	default Long getOrSetLong(Long value, String... path) {
+		return getOrSetLong(value, CompiledPath.wrap(path));
 	}
 
 	/**
@@ -439,10 +788,17 @@ interface Transmutable {
 	 *
 	 * @return A {@code Long} representation of the value located at the specified path
 	 */
-	default Long getOrSetLong(Long value, String... path) {
+	default Long getOrSetLong(Long value, CompiledPath path) {
 		return Long.parseLong(getOrSetString(value.toString(), path).trim());
 	}
 
+	/**
+	 * Equivalent to {@link #getOrSetLong(Supplier<Long>, CompiledPath)}, with the path given as separate {@code String} segments.
+	 */
+	default Long getOrSetLong(Supplier<Long> value, String... path) {
+		return getOrSetLong(value, CompiledPath.wrap(path));
+	}
+
 	/**
 	 * Get a {@code Long} representation of the value of the {@link Section} at the specified path, creating one with the specified value if necessary.
 	 *
@@ -452,10 +808,17 @@ interface Transmutable {
 	 *
 	 * @return A {@code Long} representation of the value located at the specified path
 	 */
-	default Long getOrSetLong(Supplier<Long> value, String... path) {
+	default Long getOrSetLong(Supplier<Long> value, CompiledPath path) {
 		return Long.parseLong(getOrSetString(() -> value.get().toString(), path).trim());
 	}
 
+	/**
+	 * Equivalent to {@link #getLongArray(CompiledPath)}, with the path given as separate {@code String} segments.
+	 */
+	default Optional<Long[]> getLongArray(String... path) {
+		return getLongArray(CompiledPath.wrap(path));
+	}
+
 	/**
 	 * Get a {@code Long} array representation of the value of the {@link Section} at the specified path.
 	 * <br>
@@ -465,10 +828,17 @@ interface Transmutable {
 	 *
 	 * @return An {@linkplain Optional} containing a {@code Long} array representation of the value of the {@link Section} at the specified path, or empty if the {@link Section} doesn't exist
 	 */
-	default Optional<Long[]> getLongArray(String... path) {
-		Optional<String> value = getString(path).map(String::trim);
+	default Optional<Long[]> getLongArray(CompiledPath path) {
+		Optional<String> value = getString(path);
 		if (!value.isPresent()) return Optional.empty();
-		return Optional.of(splitStream(value.get()).map(Long::parseLong).toArray(Long[]::new));
+		return Optional.of(parseArray(value.get(), Long[]::new, ArrayParser::parseLong));
+	}
+
+	/**
+	 * Equivalent to {@link #getOrSetLongArray(Long[], CompiledPath)}, with the path given as separate {@code String} segments.
+	 */
+	default Long[] getOrSetLongArray(Long[] value, String... path) {
+		return getOrSetLongArray(value, CompiledPath.wrap(path));
 	}
 
 	/**
@@ -482,8 +852,15 @@ interface Transmutable {
 	 *
 	 * @return A {@code Long} array representation of the value of the {@link Section} at the specified path
 	 */
-	default Long[] getOrSetLongArray(Long[] value, String... path) {
-		return splitStream(getOrSetString(() -> Arrays.toString(value), path)).map(Long::parseLong).toArray(Long[]::new);
+	default Long[] getOrSetLongArray(Long[] value, CompiledPath path) {
+		return parseArray(getOrSetString(() -> Arrays.toString(value), path), Long[]::new, ArrayParser::parseLong);
+	}
+
+	/**
+	 * Equivalent to {@link #getOrSetLongArray(Supplier<Long[]>, CompiledPath)}, with the path given as separate {@code String} segments.
+	 */
+	default Long[] getOrSetLongArray(Supplier<Long[]> value, String... path) {
+		return getOrSetLongArray(value, CompiledPath.wrap(path));
 	}
 
 	/**
@@ -497,8 +874,64 @@ interface Transmutable {
 	 *
 	 * @return A {@code Long} array representation of the value of the {@link Section} at the specified path
 	 */
-	default Long[] getOrSetLongArray(Supplier<Long[]> value, String... path) {
-		return splitStream(getOrSetString(() -> Arrays.toString(value.get()), path)).map(Long::parseLong).toArray(Long[]::new);
+	default Long[] getOrSetLongArray(Supplier<Long[]> value, CompiledPath path) {
+		return parseArray(getOrSetString(() -> Arrays.toString(value.get()), path), Long[]::new, ArrayParser::parseLong);
+	}
+
+	/**
+	 * Equivalent to {@link #getLong(long, CompiledPath)}, with the path given as separate {@code String} segments.
+	 */
+	default long getLong(long def, String... path) {
+		return getLong(def, CompiledPath.wrap(path));
+	}
+
+	/**
+	 * Get the value of the {@link Section} at the specified path as a primitive {@code long}, without boxing it.
+	 *
+	 * @param def The value to return if the {@link Section} doesn't exist, or its value isn't a valid {@code long}
+	 *
+	 * @param path The path to the {@link Section} where the value is located
+	 *
+	 * @return The {@code long} representation of the value of the {@link Section} at the specified path, or the provided default
+	 */
+	default long getLong(long def, CompiledPath path) {
+		Long value = parsed(ValueType.LONG, path);
+		return value == null ? def : value;
+	}
+
+	/**
+	 * Equivalent to {@link #getLongArray(long[], CompiledPath)}, with the path given as separate {@code String} segments.
+	 */
+	default long[] getLongArray(long[] def, String... path) {
+		return getLongArray(def, CompiledPath.wrap(path));
+	}
+
+	/**
+	 * Get the value of the {@link Section} at the specified path as a primitive {@code long} array, parsed straight from the value without boxing its elements.<br>
+	 * <br>
+	 * If the format {@code [s1, s2, s3]} is found, it will be used to parse, otherwise the list elements will be split using whitespace.<br>
+	 * Throws a {@linkplain NumberFormatException} if any of the elements are not valid numbers, like the boxed array getters.
+	 *
+	 * @param def The array to return if the {@link Section} doesn't exist
+	 *
+	 * @param path The path to the {@link Section} where the value is located
+	 *
+	 * @return A {@code long} array representation of the value of the {@link Section} at the specified path, or the provided default
+	 */
+	default long[] getLongArray(long[] def, CompiledPath path) {
+		Optional<String> value = getString(path);
+		if (!value.isPresent()) return def;
+		ArrayParser parser = new ArrayParser(value.get());
+		long[] array = new long[parser.size()];
+		for (int i = 0; parser.next(); i++) array[i] = parser.parseLong();
+		return array;
+	}
+
+	/**
+	 * Equivalent to {@link #set(double[], CompiledPath)}, with the path given as separate {@code String} segments.
+	 */
+	default void set(double[] value, String... path) {
+		set(value, CompiledPath.wrap(path));
 	}
 
 	/**
@@ -509,10 +942,17 @@ interface Transmutable {
 	 *
 	 * @param path The path to the {@link Section} to set the value of
 	 */
-	default void set(double[] value, String... path) {
+	default void set(double[] value, CompiledPath path) {
 		set(Arrays.toString(value), path);
 	}
 
+	/**
+	 * Equivalent to {@link #getDouble(CompiledPath)}, with the path given as separate {@code String} segments.
+	 */
+	default Optional<Double> getDouble(String... path) {
+		return getDouble(CompiledPath.wrap(path));
+	}
+
 	/**
 	 * Get a {@code Double} representation of the value of the {@link Section} at the specified path.
 	 *
@@ -520,8 +960,15 @@ interface Transmutable {
 	 *
 	 * @return An {@linkplain Optional} containing a {@code Double} representation of the value of the {@link Section} at the specified path, or empty if the {@link Section} doesn't exist
 	 */
-	default Optional<Double> getDouble(String... path) {
-		return parseNumber(getString(path).map(String::trim), Double::parseDouble);
+	default Optional<Double> getDouble(CompiledPath path) {
+		return Optional.ofNullable(parsed(ValueType.DOUBLE, path));
+	}
+
+	/**
+	 * Equivalent to {@link #getOrSetDouble(Double, CompiledPath)}, with the path given as separate {@code String} segments.
+	 */
+	default Double getOrSetDouble(Double value, String... path) {
+		return getOrSetDouble(value, CompiledPath.wrap(path));
 	}
 
 	/**
@@ -533,10 +980,17 @@ interface Transmutable {
 	 *
 	 * @return A {@code Double} representation of the value located at the specified path
 	 */
-	default Double getOrSetDouble(Double value, String... path) {
+	default Double getOrSetDouble(Double value, CompiledPath path) {
 		return Double.parseDouble(getOrSetString(value.toString(), path).trim());
 	}
 
+	/**
+	 * Equivalent to {@link #getOrSetDouble(Supplier<Double>, CompiledPath)}, with the path given as separate {@code String} segments.
+	 */
+	default Double getOrSetDouble(Supplier<Double> value, String... path) {
+		return getOrSetDouble(value, CompiledPath.wrap(path));
+	}
+
 	/**
 	 * Get a {@code Double} representation of the value of the {@link Section} at the specified path, creating one with the specified value if necessary.
 	 *
@@ -546,10 +1000,17 @@ interface Transmutable {
 	 *
 	 * @return A {@code Double} representation of the value located at the specified path
 	 */
-	default Double getOrSetDouble(Supplier<Double> value, String... path) {
+	default Double getOrSetDouble(Supplier<Double> value, CompiledPath path) {
 		return Double.parseDouble(getOrSetString(() -> value.get().toString(), path).trim());
 	}
 
+	/**
+	 * Equivalent to {@link #getDoubleArray(CompiledPath)}, with the path given as separate {@code String} segments.
+	 */
+	default Optional<Double[]> getDoubleArray(String... path) {
+		return getDoubleArray(CompiledPath.wrap(path));
+	}
+
 	/**
 	 * Get a {@code Double} array representation of the value of the {@link Section} at the specified path.
 	 * <br>
@@ -559,10 +1020,17 @@ interface Transmutable {
 	 *
 	 * @return An {@linkplain Optional} containing a {@code Double} array representation of the value of the {@link Section} at the specified path, or empty if the {@link Section} doesn't exist
 	 */
-	default Optional<Double[]> getDoubleArray(String... path) {
-		Optional<String> value = getString(path).map(String::trim);
+	default Optional<Double[]> getDoubleArray(CompiledPath path) {
+		Optional<String> value = getString(path);
 		if (!value.isPresent()) return Optional.empty();
-		return Optional.of(splitStream(value.get()).map(Double::parseDouble).toArray(Double[]::new));
+		return Optional.of(parseArray(value.get(), Double[]::new, ArrayParser::parseDouble));
+	}
+
+	/**
+	 * Equivalent to {@link #getOrSetDoubleArray(Double[], CompiledPath)}, with the path given as separate {@code String} segments.
+	 */
+	default Double[] getOrSetDoubleArray(Double[] value, String... path) {
+		return getOrSetDoubleArray(value, CompiledPath.wrap(path));
 	}
 
 	/**
@@ -576,8 +1044,15 @@ interface Transmutable {
 	 *
 	 * @return A {@code Double} array representation of the value of the {@link Section} at the specified path
 	 */
-	default Double[] getOrSetDoubleArray(Double[] value, String... path) {
-		return splitStream(getOrSetString(() -> Arrays.toString(value), path)).map(Double::parseDouble).toArray(Double[]::new);
+	default Double[] getOrSetDoubleArray(Double[] value, CompiledPath path) {
+		return parseArray(getOrSetString(() -> Arrays.toString(value), path), Double[]::new, ArrayParser::parseDouble);
+	}
+
+	/**
+	 * Equivalent to {@link #getOrSetDoubleArray(Supplier<Double[]>, CompiledPath)}, with the path given as separate {@code String} segments.
+	 */
+	default Double[] getOrSetDoubleArray(Supplier<Double[]> value, String... path) {
+		return getOrSetDoubleArray(value, CompiledPath.wrap(path));
 	}
 
 	/**
@@ -591,8 +1066,64 @@ interface Transmutable {
 	 *
 	 * @return A {@code Double} array representation of the value of the {@link Section} at the specified path
 	 */
-	default Double[] getOrSetDoubleArray(Supplier<Double[]> value, String... path) {
-		return splitStream(getOrSetString(() -> Arrays.toString(value.get()), path)).map(Double::parseDouble).toArray(Double[]::new);
+	default Double[] getOrSetDoubleArray(Supplier<Double[]> value, CompiledPath path) {
+		return parseArray(getOrSetString(() -> Arrays.toString(value.get()), path), Double[]::new, ArrayParser::parseDouble);
+	}
+
+	/**
+	 * Equivalent to {@link #getDouble(double, CompiledPath)}, with the path given as separate {@code String} segments.
+	 */
+	default double getDouble(double def, String... path) {
+		return getDouble(def, CompiledPath.wrap(path));
+	}
+
+	/**
+	 * Get the value of the {@link Section} at the specified path as a primitive {@code double}, without boxing it.
+	 *
+	 * @param def The value to return if the {@link Section} doesn't exist, or its value isn't a valid {@code double}
+	 *
+	 * @param path The path to the {@link Section} where the value is located
+	 *
+	 * @return The {@code double} representation of the value of the {@link Section} at the specified path, or the provided default
+	 */
+	default double getDouble(double def, CompiledPath path) {
+		Double value = parsed(ValueType.DOUBLE, path);
+		return value == null ? def : value;
+	}
+
+	/**
+	 * Equivalent to {@link #getDoubleArray(double[], CompiledPath)}, with the path given as separate {@code String} segments.
+	 */
+	default double[] getDoubleArray(double[] def, String... path) {
+		return getDoubleArray(def, CompiledPath.wrap(path));
+	}
+
+	/**
+	 * Get the value of the {@link Section} at the specified path as a primitive {@code double} array, parsed straight from the value without boxing its elements.<br>
+	 * <br>
+	 * If the format {@code [s1, s2, s3]} is found, it will be used to parse, otherwise the list elements will be split using whitespace.<br>
+	 * Throws a {@linkplain NumberFormatException} if any of the elements are not valid numbers, like the boxed array getters.
+	 *
+	 * @param def The array to return if the {@link Section} doesn't exist
+	 *
+	 * @param path The path to the {@link Section} where the value is located
+	 *
+	 * @return A {@code double} array representation of the value of the {@link Section} at the specified path, or the provided default
+	 */
+	default double[] getDoubleArray(double[] def, CompiledPath path) {
+		Optional<String> value = getString(path);
+		if (!value.isPresent()) return def;
+		ArrayParser parser = new ArrayParser(value.get());
+		double[] array = new double[parser.size()];
+		for (int i = 0; parser.next(); i++) array[i] = parser.parseDouble();
+		return array;
+	}
+
+	/**
+	 * Equivalent to {@link #set(float[], CompiledPath)}, with the path given as separate {@code String} segments.
+	 */
+	default void set(float[] value, String... path) {
+		set(value, CompiledPath.wrap(path));
 	}
 
 	/**
@@ -603,10 +1134,17 @@ interface Transmutable {
 	 *
 	 * @param path The path to the {@link Section} to set the value of
 	 */
-	default void set(float[] value, String... path) {
+	default void set(float[] value, CompiledPath path) {
 		set(Arrays.toString(value), path);
 	}
 
+	/**
+	 * Equivalent to {@link #getFloat(CompiledPath)}, with the path given as separate {@code String} segments.
+	 */
+	default Optional<Float> getFloat(String... path) {
+		return getFloat(CompiledPath.wrap(path));
+	}
+
 	/**
 	 * Get a {@code Float} representation of the value of the {@link Section} at the specified path.
 	 *
@@ -614,8 +1152,15 @@ interface Transmutable {
 	 *
 	 * @return An {@linkplain Optional} containing a {@code Float} representation of the value of the {@link Section} at the specified path, or empty if the {@link Section} doesn't exist
 	 */
-	default Optional<Float> getFloat(String... path) {
-		return parseNumber(getString(path).map(String::trim), Float::parseFloat);
+	default Optional<Float> getFloat(CompiledPath path) {
+		return Optional.ofNullable(parsed(ValueType.FLOAT, path));
+	}
+
+	/**
+	 * Equivalent to {@link #getOrSetFloat(Float, CompiledPath)}, with the path given as separate {@code String} segments.
+	 */
+	default Float getOrSetFloat(Float value, String... path) {
+		return getOrSetFloat(value, CompiledPath.wrap(path));
 	}
 
 	/**
@@ -627,10 +1172,17 @@ interface Transmutable {
 	 *
 	 * @return A {@code Float} representation of the value located at the specified path
 	 */
-	default Float getOrSetFloat(Float value, String... path) {
+	default Float getOrSetFloat(Float value, CompiledPath path) {
 		return Float.parseFloat(getOrSetString(value.toString(), path).trim());
 	}
 
+	/**
+	 * Equivalent to {@link #getOrSetFloat(Supplier<Float>, CompiledPath)}, with the path given as separate {@code String} segments.
+	 */
+	default Float getOrSetFloat(Supplier<Float> value, String... path) {
+		return getOrSetFloat(value, CompiledPath.wrap(path));
+	}
+
 	/**
 	 * Get a {@code Float} representation of the value of the {@link Section} at the specified path, creating one with the specified value if necessary.
 	 *
@@ -640,10 +1192,17 @@ interface Transmutable {
 	 *
 	 * @return A {@code Float} representation of the value located at the specified path
 	 */
-	default Float getOrSetFloat(Supplier<Float> value, String... path) {
+	default Float getOrSetFloat(Supplier<Float> value, CompiledPath path) {
 		return Float.parseFloat(getOrSetString(() -> value.get().toString(), path).trim());
 	}
 
+	/**
+	 * Equivalent to {@link #getFloatArray(CompiledPath)}, with the path given as separate {@code String} segments.
+	 */
+	default Optional<Float[]> getFloatArray(String... path) {
+		return getFloatArray(CompiledPath.wrap(path));
+	}
+
 	/**
 	 * Get a {@code Float} array representation of the value of the {@link Section} at the specified path.
 	 * <br>
@@ -653,10 +1212,17 @@ interface Transmutable {
 	 *
 	 * @return An {@linkplain Optional} containing a {@code Float} array representation of the value of the {@link Section} at the specified path, or empty if the {@link Section} doesn't exist
 	 */
-	default Optional<Float[]> getFloatArray(String... path) {
-		Optional<String> value = getString(path).map(String::trim);
+	default Optional<Float[]> getFloatArray(CompiledPath path) {
+		Optional<String> value = getString(path);
 		if (!value.isPresent()) return Optional.empty();
-		return Optional.of(splitStream(value.get()).map(Float::parseFloat).toArray(Float[]::new));
+		return Optional.of(parseArray(value.get(), Float[]::new, ArrayParser::parseFloat));
+	}
+
+	/**
+	 * Equivalent to {@link #getOrSetFloatArray(Float[], CompiledPath)}, with the path given as separate {@code String} segments.
+	 */
+	default Float[] getOrSetFloatArray(Float[] value, String... path) {
+		return getOrSetFloatArray(value, CompiledPath.wrap(path));
 	}
 
 	/**
@@ -670,8 +1236,15 @@ interface Transmutable {
 	 *
 	 * @return A {@code Float} array representation of the value of the {@link Section} at the specified path
 	 */
-	default Float[] getOrSetFloatArray(Float[] value, String... path) {
-		return splitStream(getOrSetString(() -> Arrays.toString(value), path)).map(Float::parseFloat).toArray(Float[]::new);
+	default Float[] getOrSetFloatArray(Float[] value, CompiledPath path) {
+		return parseArray(getOrSetString(() -> Arrays.toString(value), path), Float[]::new, ArrayParser::parseFloat);
+	}
+
+	/**
+	 * Equivalent to {@link #getOrSetFloatArray(Supplier<Float[]>, CompiledPath)}, with the path given as separate {@code String} segments.
+	 */
+	default Float[] getOrSetFloatArray(Supplier<Float[]> value, String... path) {
+		return getOrSetFloatArray(value, CompiledPath.wrap(path));
 	}
 
 	/**
@@ -685,24 +1258,22 @@ interface Transmutable {
 	 *
 	 * @return A {@code Float} array representation of the value of the {@link Section} at the specified path
 	 */
-	default Float[] getOrSetFloatArray(Supplier<Float[]> value, String... path) {
-		return splitStream(getOrSetString(() -> Arrays.toString(value.get()), path)).map(Float::parseFloat).toArray(Float[]::new);
+	default Float[] getOrSetFloatArray(Supplier<Float[]> value, CompiledPath path) {
+		return parseArray(getOrSetString(() -> Arrays.toString(value.get()), path), Float[]::new, ArrayParser::parseFloat);
 	}
 
-	/** Split a {@code String} representation of an array into a {@code Stream} of {@code String} entries **/
-	private static Stream<String> splitStream(String value) {
-		if (value.startsWith("[") && value.endsWith("]")) {
-			return Stream.of(value.substring(1, value.length() - 1).split(",\\s?"));
-		} else return Stream.of(value.split("\\s+"));
+	/** Get the value of the {@link Section} at the specified path, if present, parsed as the provided type, without wrapping the {@link Section} in an {@linkplain Optional} **/
+	private <T> T parsed(ValueType<T> type, CompiledPath path) {
+		Section section = find(path);
+		return section == null ? null : section.parsed(type);
 	}
 
-	/** Parse a {@code Number} out of a {@code String} given the provided parse function **/
-	private static <T extends Number> Optional<T> parseNumber(Optional<String> number, Function<String, T> function) {
-		try {
-			return number.map(function);
-		} catch (NumberFormatException e) {
-			return Optional.empty();
-		}
+	/** Parse a {@code String} representation of an array straight into a new array, given the provided element parse function **/
+	private static <T> T[] parseArray(String value, IntFunction<T[]> array, Function<ArrayParser, T> element) {
+		ArrayParser parser = new ArrayParser(value);
+		T[] parsed = array.apply(parser.size());
+		for (int i = 0; parser.next(); i++) parsed[i] = element.apply(parser);
+		return parsed;
 	}
 
 }
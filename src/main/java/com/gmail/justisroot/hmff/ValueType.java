@@ -0,0 +1,40 @@
+package com.gmail.justisroot.hmff;
+
+import java.util.function.Function;
+
+/**
+ * A type which {@link Section} values can be parsed as, used as the key for each {@link Section}'s cache of its parsed value.
+ *
+ * @param <T> The type values are parsed as
+ */
+final class ValueType<T> {
+
+	static final ValueType<Boolean> BOOLEAN = new ValueType<>(Boolean::parseBoolean);
+	static final ValueType<Integer> INTEGER = new ValueType<>(Integer::parseInt);
+	static final ValueType<Byte> BYTE = new ValueType<>(Byte::parseByte);
+	static final ValueType<Long> LONG = new ValueType<>(Long::parseLong);
+	static final ValueType<Double> DOUBLE = new ValueType<>(Double::parseDouble);
+	static final ValueType<Float> FLOAT = new ValueType<>(Float::parseFloat);
+
+	private final Function<String, T> parser;
+
+	private ValueType(Function<String, T> parser) {
+		this.parser = parser;
+	}
+
+	/**
+	 * Parse the provided value, ignoring surrounding whitespace.
+	 *
+	 * @param value The {@code String} value of a {@link Section}
+	 *
+	 * @return the parsed value, or null if it is not a valid representation of this type
+	 */
+	T parse(String value) {
+		try {
+			return this.parser.apply(value.trim());
+		} catch (NumberFormatException e) {
+			return null;
+		}
+	}
+
+}
@@ -0,0 +1,265 @@
+package com.gmail.justisroot.hmff.processor;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.PackageElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.tools.Diagnostic;
+
+import com.gmail.justisroot.hmff.HMFFConfig;
+import com.gmail.justisroot.hmff.HMFFPath;
+
+/**
+ * Generates an implementation of every {@link HMFFConfig} interface, which reads its values from a {@code HMFF}.<br>
+ * <br>
+ * The generated class holds a {@code CompiledPath} for each value, and an immutable set of the parsed values along with the
+ * {@code HMFF}'s modification count when they were parsed. Each read compares the count, and only parses the values again once it has moved on,
+ * so there is no reflection and no lookup on the path of an ordinary read.
+ */
+@SupportedAnnotationTypes("com.gmail.justisroot.hmff.HMFFConfig")
+public final class HMFFConfigProcessor extends AbstractProcessor {
+
+	@Override
+	public SourceVersion getSupportedSourceVersion() {
+		return SourceVersion.latestSupported();
+	}
+
+	@Override
+	public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment round) {
+		for (Element element : round.getElementsAnnotatedWith(HMFFConfig.class)) {
+			if (element.getKind() != ElementKind.INTERFACE) {
+				error(element, "@HMFFConfig can only be applied to interfaces");
+				continue;
+			}
+			TypeElement type = (TypeElement) element;
+			if (!type.getTypeParameters().isEmpty()) {
+				error(type, "@HMFFConfig interfaces can't be generic");
+				continue;
+			}
+			if (type.getModifiers().contains(Modifier.PRIVATE)) {
+				error(type, "@HMFFConfig interfaces can't be private");
+				continue;
+			}
+			List<Property> properties = properties(type);
+			if (properties == null) continue;
+			try {
+				generate(type, properties);
+			} catch (IOException e) {
+				error(type, "Could not write the accessor for " + type.getQualifiedName() + ": " + e.getMessage());
+			}
+		}
+		return true;
+	}
+
+	/** Find the methods which read values, reporting an error and returning null if any of them can't be implemented **/
+	private List<Property> properties(TypeElement type) {
+		HMFFConfig config = type.getAnnotation(HMFFConfig.class);
+		List<Property> properties = new ArrayList<>();
+		Set<String> constants = new HashSet<>();
+		boolean valid = true;
+		for (ExecutableElement method : ElementFilter.methodsIn(this.processingEnv.getElementUtils().getAllMembers(type))) {
+			Set<Modifier> modifiers = method.getModifiers();
+			if (modifiers.contains(Modifier.STATIC) || modifiers.contains(Modifier.PRIVATE) || method.getEnclosingElement().getKind() != ElementKind.INTERFACE) continue;
+			HMFFPath path = method.getAnnotation(HMFFPath.class);
+			boolean fallback = modifiers.contains(Modifier.DEFAULT);
+			if (fallback && path == null) continue;
+			String name = method.getSimpleName().toString();
+			if (!method.getParameters().isEmpty() || !method.getTypeParameters().isEmpty()) {
+				error(method, "@HMFFConfig methods can't take parameters");
+				valid = false;
+				continue;
+			}
+			Kind kind = Kind.of(method.getReturnType());
+			if (kind == null) {
+				error(method, "@HMFFConfig methods must return a String, a primitive or a primitive wrapper, not " + method.getReturnType());
+				valid = false;
+				continue;
+			}
+			List<String> segments = new ArrayList<>();
+			if (!config.path().isEmpty()) for (String segment : config.path().split("\\.", -1)) segments.add(segment);
+			if (path == null) segments.add(name);
+			else for (String segment : path.value().split("\\.", -1)) segments.add(segment);
+			String constant = constant(name);
+			while (!constants.add(constant)) constant += "$"; // such as for both fooBar and foo_bar
+			properties.add(new Property(name, constant, method.getReturnType(), kind, segments, fallback));
+		}
+		return valid ? properties : null;
+	}
+
+	/**
+	 * Write the implementation of the interface. The identifiers it declares besides the properties begin with a {@code $},
+	 * or have one appended if a property already has the name, so that no property name can collide with them.
+	 */
+	private void generate(TypeElement type, List<Property> properties) throws IOException {
+		HMFFConfig config = type.getAnnotation(HMFFConfig.class);
+		PackageElement pkg = this.processingEnv.getElementUtils().getPackageOf(type);
+		String name = config.name().isEmpty() ? type.getSimpleName() + "Accessor" : config.name();
+		String qualified = pkg.isUnnamed() ? name : pkg.getQualifiedName() + "." + name;
+		String iface = type.getQualifiedName().toString();
+		String current = "current";
+		for (Property property : properties) if (property.name.equals(current)) current += "$";
+
+		StringBuilder out = new StringBuilder();
+		if (!pkg.isUnnamed()) out.append("package ").append(pkg.getQualifiedName()).append(";\n\n");
+		out.append("import java.util.NoSuchElementException;\n");
+		out.append("import java.util.Objects;\n");
+		out.append("import java.util.Optional;\n\n");
+		out.append("import javax.annotation.processing.Generated;\n\n");
+		out.append("import com.gmail.justisroot.hmff.CompiledPath;\n");
+		out.append("import com.gmail.justisroot.hmff.HMFF;\n\n");
+		out.append("/**\n * Reads the values of {@link ").append(iface).append("} from a {@link HMFF}.\n */\n");
+		out.append("@Generated(\"").append(getClass().getName()).append("\")\n");
+		out.append("public final class ").append(name).append(" implements ").append(iface).append(" {\n\n");
+		for (Property property : properties) {
+			out.append("\tprivate static final CompiledPath ").append(property.constant).append(" = new CompiledPath(");
+			for (int i = 0; i < property.path.size(); i++) out.append(i == 0 ? "" : ", ").append(literal(property.path.get(i)));
+			out.append(");\n");
+		}
+		out.append("\n\tprivate final HMFF hmff;\n\n");
+		out.append("\tprivate volatile Values values;\n\n");
+		out.append("\t/**\n\t * Read the values of {@link ").append(iface).append("} from the provided {@link HMFF}.\n");
+		out.append("\t *\n\t * @param hmff The {@link HMFF} to read from\n\t */\n");
+		out.append("\tpublic ").append(name).append("(HMFF hmff) {\n");
+		out.append("\t\tthis.hmff = Objects.requireNonNull(hmff, \"hmff\");\n\t}\n");
+		for (Property property : properties) {
+			out.append("\n\t@Override\n\tpublic ").append(property.type).append(' ').append(property.name).append("() {\n");
+			if (property.fallback) out.append("\t\treturn ").append(current).append("().").append(property.name).append(";\n");
+			else {
+				out.append("\t\t").append(property.kind.boxed).append(" $value = ").append(current).append("().").append(property.name).append(";\n");
+				out.append("\t\tif ($value == null) throw new NoSuchElementException(\"No value present at \" + ").append(property.constant).append(");\n");
+				out.append("\t\treturn $value;\n");
+			}
+			out.append("\t}\n");
+		}
+		out.append("\n\t/** Get the values parsed since the last modification, parsing them again if there are none **/\n");
+		out.append("\tprivate Values ").append(current).append("() {\n");
+		out.append("\t\tlong $count = this.hmff.getModificationCount();\n");
+		out.append("\t\tValues $values = this.values;\n");
+		out.append("\t\tif ($values == null || $values.$count != $count) this.values = $values = load($count);\n");
+		out.append("\t\treturn $values;\n\t}\n\n");
+		out.append("\tprivate Values load(long $count) {\n");
+		out.append("\t\tValues $loaded = new Values($count);\n");
+		for (Property property : properties) {
+			String getter = "this.hmff." + property.kind.getter + "(" + property.constant + ")";
+			if (property.fallback) {
+				String local = "$" + property.name;
+				out.append("\t\tOptional<").append(property.kind.boxed).append("> ").append(local).append(" = ").append(getter).append(";\n");
+				out.append("\t\t$loaded.").append(property.name).append(" = ").append(local).append(".isPresent() ? ").append(local).append(".get() : ")
+					.append(iface).append(".super.").append(property.name).append("();\n");
+			} else out.append("\t\t$loaded.").append(property.name).append(" = ").append(getter).append(".orElse(null);\n");
+		}
+		out.append("\t\treturn $loaded;\n\t}\n\n");
+		out.append("\tprivate static final class Values {\n\n");
+		out.append("\t\tfinal long $count;\n\n");
+		for (Property property : properties) {
+			out.append("\t\t").append(property.fallback ? property.type.toString() : property.kind.boxed).append(' ').append(property.name).append(";\n");
+		}
+		out.append("\n\t\tValues(long $count) {\n\t\t\tthis.$count = $count;\n\t\t}\n\n\t}\n\n}\n");
+
+		try (Writer writer = this.processingEnv.getFiler().createSourceFile(qualified, type).openWriter()) {
+			writer.write(out.toString());
+		}
+	}
+
+	/** The name of the constant holding a property's path, such as {@code MAX_CONNECTIONS_PATH} for {@code maxConnections} **/
+	private static String constant(String name) {
+		StringBuilder constant = new StringBuilder();
+		for (char c : name.toCharArray()) {
+			if (Character.isUpperCase(c) && constant.length() > 0) constant.append('_');
+			constant.append(Character.toUpperCase(c));
+		}
+		return constant.append("_PATH").toString();
+	}
+
+	private void error(Element element, String message) {
+		this.processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, message, element);
+	}
+
+	private static String literal(String string) {
+		StringBuilder literal = new StringBuilder("\"");
+		for (char c : string.toCharArray()) {
+			if (c == '"' || c == '\\') literal.append('\\').append(c);
+			else if (c < ' ' || c > '~') literal.append(String.format("\\u%04x", (int) c));
+			else literal.append(c);
+		}
+		return literal.append('"').toString();
+	}
+
+	/** The types a value can be read as, and the getter which parses each one **/
+	private enum Kind {
+
+		STRING("String", "getString"),
+		BOOLEAN("Boolean", "getBoolean"),
+		BYTE("Byte", "getByte"),
+		INT("Integer", "getInteger"),
+		LONG("Long", "getLong"),
+		FLOAT("Float", "getFloat"),
+		DOUBLE("Double", "getDouble");
+
+		final String boxed, getter;
+
+		Kind(String boxed, String getter) {
+			this.boxed = boxed;
+			this.getter = getter;
+		}
+
+		static Kind of(TypeMirror type) {
+			switch (type.getKind()) {
+				case BOOLEAN:
+					return BOOLEAN;
+				case BYTE:
+					return BYTE;
+				case INT:
+					return INT;
+				case LONG:
+					return LONG;
+				case FLOAT:
+					return FLOAT;
+				case DOUBLE:
+					return DOUBLE;
+				case DECLARED:
+					String name = type.toString();
+					for (Kind kind : values()) if (name.equals("java.lang." + kind.boxed)) return kind;
+					return null;
+				default:
+					return null;
+			}
+		}
+
+	}
+
+	private static final class Property {
+
+		final String name, constant;
+		final TypeMirror type;
+		final Kind kind;
+		final List<String> path;
+		final boolean fallback;
+
+		Property(String name, String constant, TypeMirror type, Kind kind, List<String> path, boolean fallback) {
+			this.name = name;
+			this.constant = constant;
+			this.type = type;
+			this.kind = kind;
+			this.path = path;
+			this.fallback = fallback;
+		}
+
+	}
+
+}
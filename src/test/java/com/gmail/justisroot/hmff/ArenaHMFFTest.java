@@ -0,0 +1,56 @@
+package com.gmail.justisroot.hmff;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.api.TestInstance.Lifecycle;
+
+@TestInstance(Lifecycle.PER_CLASS)
+public class ArenaHMFFTest extends FileTest {
+
+	@Test
+	@DisplayName("Test round trip")
+	void testRoundTrip() throws IOException {
+		String contents = "# comment\nfirst: 1\n  inner: 2\n    deeper: 3\nsecond: [1, 2, 3]\n  # nested comment\n  \u043a\u043b\u044e\u0447: \u0437\u043d\u0430\u0447\u0435\u043d\u0438\u0435\nfirst: 4\n  replaced: 5\n# trailing";
+		Files.writeString(hmff.getFile().toPath(), contents, StandardCharsets.UTF_8);
+		ArenaHMFF arena = new ArenaHMFF(hmff.getFile(), StandardCharsets.UTF_8);
+		HMFF loaded = new HMFF(hmff.getFile(), StandardCharsets.UTF_8);
+		assertEquals(loaded.toString(), arena.toString(), "Arena documents should hold the same structure");
+		assertEquals(4, arena.size());
+		assertEquals("[first, second]", arena.children().keySet().toString(), "Replaced sections should keep their position");
+		assertFalse(arena.sectionExists("first", "inner"), "Replaced sections should lose their children");
+		assertEquals(5, arena.getInteger("first", "replaced").get());
+		assertEquals("\u0437\u043d\u0430\u0447\u0435\u043d\u0438\u0435", arena.getString(CompiledPath.parse("second.\u043a\u043b\u044e\u0447")).get());
+		assertEquals("nested comment", arena.getSection("second", "\u043a\u043b\u044e\u0447").get().comments().list().get(0));
+		assertEquals(3, arena.getIntArray(new int[0], "second").length);
+		Section replaced = arena.getSection("first", "replaced").get();
+		assertEquals(2, replaced.countParents());
+		assertEquals("first", replaced.parent().get().getKey());
+		assertSame(arena, replaced.getRoot());
+	}
+
+	@Test
+	@DisplayName("Test modification")
+	void testModification() throws IOException {
+		Files.writeString(hmff.getFile().toPath(), "a: 1\n  b: 2");
+		ArenaHMFF arena = new ArenaHMFF(hmff.getFile());
+		assertThrows(UnsupportedOperationException.class, () -> arena.set("value", "a"));
+		assertThrows(UnsupportedOperationException.class, () -> arena.removeSection("a"));
+		assertThrows(UnsupportedOperationException.class, () -> arena.getSection("a").get().addChild("c"));
+		assertThrows(UnsupportedOperationException.class, () -> arena.children().clear());
+		assertEquals("2", arena.getOrSetString("3", "a", "b"), "Existing sections should be readable through getOrSet");
+		arena.getSection("a").get().copyTo(hmff);
+		assertTrue(hmff.sectionExists("a", "b"), "Sections should be copyable into a modifiable document");
+	}
+
+}
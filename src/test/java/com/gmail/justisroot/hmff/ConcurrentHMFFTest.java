@@ -0,0 +1,98 @@
+package com.gmail.justisroot.hmff;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.api.TestInstance.Lifecycle;
+
+@TestInstance(Lifecycle.PER_CLASS)
+public class ConcurrentHMFFTest extends FileTest {
+
+	@Test
+	@DisplayName("Test round trip")
+	void testRoundTrip() throws IOException {
+		String contents = "# comment\nfirst: 1\n\n  inner: 2\n    deeper: 3\nsecond: 4\n";
+		Files.writeString(hmff.getFile().toPath(), contents);
+		ConcurrentHMFF concurrent = new ConcurrentHMFF(hmff.getFile());
+		assertEquals(new HMFF(hmff.getFile()).toString(), concurrent.toString(), "Concurrent loading should produce the same structure");
+		assertEquals("3", concurrent.getString("first", "inner", "deeper").get());
+		assertSame(concurrent, concurrent.getSection("first", "inner").get().getRoot(), "Staged sections should be moved onto the root");
+		assertFalse(((CopyOnWriteMap<?, ?>) concurrent.getSection("first", "inner").get().children()).isStaged(), "Loaded maps should copy on write once published");
+		concurrent.set("5", "first", "added");
+		concurrent.renameSection("renamed", "second");
+		assertEquals("[first, renamed]", concurrent.children().keySet().toString(), "Insertion order should be kept");
+		assertTrue(concurrent.save());
+		assertEquals(concurrent.toString(), new HMFF(hmff.getFile()).toString(), "Saved contents should be read back the same");
+	}
+
+	@Test
+	@DisplayName("Test parallel loading")
+	void testParallelLoading() throws IOException {
+		StringBuilder contents = new StringBuilder();
+		for (int i = 0; i < 10; i++) contents.append("k").append(i).append(": ").append(i).append("\n  inner: ").append(i).append("\n    deeper: ").append(i).append('\n');
+		Files.writeString(hmff.getFile().toPath(), contents);
+		ConcurrentHMFF concurrent = new ConcurrentHMFF(hmff.getFile(), StandardCharsets.UTF_8, LoadMode.PARALLEL);
+		concurrent.setParallelThreshold(1);
+		assertTrue(concurrent.reload());
+		assertEquals(new HMFF(hmff.getFile()).toString(), concurrent.toString(), "Parallel loading should produce the same structure");
+		for (String[] path : new String[][] {{"k5"}, {"k5", "inner"}, {"k5", "inner", "deeper"}}) {
+			Section section = concurrent.getSection(path).get();
+			assertEquals(ConcurrentSection.class, section.getClass(), "Every loaded section should be a concurrent one");
+			assertTrue(section.children() instanceof CopyOnWriteMap, "Every loaded section should hold its children in a copy on write map");
+			assertFalse(((CopyOnWriteMap<?, ?>) section.children()).isStaged(), "Loaded maps should copy on write once published");
+			assertSame(concurrent, section.getRoot(), "Loaded sections should be moved onto the root");
+		}
+	}
+
+	@Test
+	@DisplayName("Test concurrent reads and writes")
+	void testConcurrentReadsAndWrites() throws InterruptedException {
+		ConcurrentHMFF concurrent = new ConcurrentHMFF(hmff.getFile());
+		concurrent.set("moving", "a");
+		AtomicBoolean running = new AtomicBoolean(true);
+		AtomicReference<Throwable> failure = new AtomicReference<>();
+		Thread reader = new Thread(() -> {
+			try {
+				while (running.get()) {
+					Set<String> keys = concurrent.children().keySet();
+					if (keys.contains("reloaded") && !keys.contains("other")) throw new AssertionError("A reload was partially visible");
+					if (keys.contains("a") == keys.contains("b")) throw new AssertionError("A rename was partially visible");
+					for (Section section : concurrent.children().values()) section.getInteger("value");
+				}
+			} catch (Throwable t) {
+				failure.set(t);
+			}
+		});
+		reader.start();
+		for (int i = 0; i < 2000; i++) {
+			concurrent.set(i, "key" + (i % 10), "value");
+			concurrent.removeSection("key" + ((i + 5) % 10));
+			concurrent.renameSection(i % 2 == 0 ? "b" : "a", i % 2 == 0 ? "a" : "b");
+			if (i % 100 == 0) concurrent.reload(new BufferedReader(new StringReader("other: a\n  first: 1\nreloaded: b\n  second: 2")));
+			if (i % 100 == 50) {
+				concurrent.removeSection("reloaded");
+				concurrent.removeSection("other");
+			}
+		}
+		running.set(false);
+		reader.join();
+		assertEquals(null, failure.get(), "Readers should never fail or see partial writes");
+		assertFalse(concurrent.sectionExists("key4"), "Removals should apply");
+		assertEquals(1999, concurrent.getInteger("key9", "value").get());
+	}
+
+}
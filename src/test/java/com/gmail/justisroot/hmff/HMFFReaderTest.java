@@ -0,0 +1,60 @@
+package com.gmail.justisroot.hmff;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.api.TestInstance.Lifecycle;
+
+@TestInstance(Lifecycle.PER_CLASS)
+public class HMFFReaderTest {
+
+	private static final String CONTENTS = "# about a\na: 1\n\n  b: 2\n    c: 3\n# about d\n  d: 4\ne: 5";
+
+	private static List<String> events(HMFFReader reader) throws IOException {
+		List<String> events = new ArrayList<>();
+		while (reader.hasNext()) {
+			switch (reader.next()) {
+				case START_SECTION:
+					events.add("start " + reader.getKey() + "=" + reader.getValue() + " @" + reader.getDepth());
+					break;
+				case COMMENT:
+					events.add("comment " + reader.getComment());
+					break;
+				case END_SECTION:
+					events.add("end " + reader.getKey() + " @" + reader.getDepth());
+					break;
+			}
+		}
+		return events;
+	}
+
+	@Test
+	@DisplayName("Test event order")
+	public void testEvents() throws IOException {
+		try (HMFFReader reader = new HMFFReader(new StringReader(CONTENTS))) {
+			assertEquals(List.of("comment about a", "start a=1 @0", "start b=2 @1", "start c=3 @2", "comment about d", "end c @2", "end b @1", "start d=4 @1", "end d @1", "end a @0", "start e=5 @0", "end e @0"), events(reader));
+			assertFalse(reader.hasNext(), "No events should remain");
+		}
+	}
+
+	@Test
+	@DisplayName("Test byte sources")
+	public void testByteSources() throws IOException {
+		byte[] bytes = CONTENTS.getBytes(StandardCharsets.UTF_8);
+		List<String> expected = events(new HMFFReader(new StringReader(CONTENTS)));
+		assertEquals(expected, events(new HMFFReader(new ByteArrayInputStream(bytes), StandardCharsets.UTF_8)), "Stream should read the same events");
+		assertEquals(expected, events(new HMFFReader(ByteBuffer.wrap(bytes), StandardCharsets.UTF_8)), "Buffer should read the same events");
+	}
+
+}
@@ -1,12 +1,35 @@
 package com.gmail.justisroot.hmff;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import java.io.BufferedReader;
 import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
 import java.io.FileInputStream;
 import java.io.IOException;
+import java.io.StringReader;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.zip.CRC32C;
 
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.MethodOrderer.OrderAnnotation;
@@ -115,4 +138,507 @@ public class HMFFTest extends FileTest {
 		validateReload();
 	}
 
+	@Test
+	@Order(100)
+	@DisplayName("Test reload of irregular contents")
+	void testReloadIrregular() {
+		hmff.save("# top comment", "a: 1", "", "  b:2", "      c:\tthree: 3", "   d", "\r", " # for e", "e :  5  ", "# trailing");
+		hmff.reload();
+		assertEquals("1", hmff.getString("a").get());
+		assertEquals("2", hmff.getString("a", "b").get());
+		assertEquals("three: 3", hmff.getString("a", "b", "c").get());
+		assertEquals("", hmff.getString("a", "d").get());
+		assertEquals(" 5  ", hmff.getString("e ").get());
+		assertEquals("top comment", hmff.getSection("a").get().comments().list().get(0));
+		assertEquals("for e", hmff.getSection("e ").get().comments().list().get(0));
+		assertEquals("trailing", hmff.comments().list().get(0));
+	}
+
+	@Test
+	@Order(110)
+	@DisplayName("Test reload with explicit charsets")
+	void testReloadCharset() {
+		String value = "gr\u00fc\u00dfe \uD83D\uDE00 " + "x".repeat(20000);
+		for (Charset charset : new Charset[] {StandardCharsets.UTF_8, StandardCharsets.UTF_16LE}) {
+			hmff.setCharset(charset);
+			hmff.set(value, "key", "\u00e9t\u00e9");
+			hmff.save();
+			hmff.removeSection("key");
+			assertTrue(hmff.reload());
+			assertEquals(value, hmff.getString("key", "\u00e9t\u00e9").get(), "Value should survive a " + charset + " round trip");
+		}
+	}
+
+	@Test
+	@Order(120)
+	@DisplayName("Test lazy reload")
+	void testLazyReload() {
+		String[] lines = new String[] {"# first", "a: 1", "", "    x: irregular", "      y: deeper", "b:2", "   # odd comment", "  z: 3", "c: 3", "# trailing"};
+		hmff.save(lines);
+		hmff.setCharset(StandardCharsets.UTF_8);
+		hmff.setLoadMode(LoadMode.LAZY);
+		assertTrue(hmff.reload());
+		assertEquals(String.join("\n", lines), hmff.toString(), "Untouched sections should be written exactly as read");
+		assertEquals("2", hmff.getString("b").get());
+		assertEquals("deeper", hmff.getString("a", "x", "y").get());
+		assertEquals("odd comment", hmff.getSection("b", "z").get().comments().list().get(0));
+		hmff.set(4, "c");
+		assertEquals("# first\na: 1\n\n  x: irregular\n    y: deeper\nb: 2\n\n  # odd comment\n  z: 3\nc: 4\n\n# trailing", hmff.toString());
+	}
+
+	@Test
+	@Order(125)
+	@DisplayName("Test lazy round trip")
+	void testLazyRoundTrip() throws IOException {
+		hmff.setCharset(StandardCharsets.UTF_8);
+		hmff.setLoadMode(LoadMode.LAZY);
+		hmff.setChangeExecutor(Runnable::run);
+		List<List<Change>> notified = new ArrayList<>();
+		Consumer<List<Change>> listener = notified::add;
+		hmff.onChange(listener);
+		for (String contents : new String[] {"a: 1\n    x: irregular\nb: 2\n", "a: 1\r\n    x: irregular\r\nb: 2", "a: 1\r\n    x: irregular\r\n\r\nb: 2\r\n# trailing\r\n"}) {
+			Files.writeString(hmff.getFile().toPath(), contents, StandardCharsets.UTF_8);
+			assertTrue(hmff.reload());
+			Section snapshot = hmff.snapshot();
+			assertEquals(contents, hmff.toString(), "Untouched sections should be written byte for byte");
+			assertEquals("irregular", snapshot.getString("a", "x").get(), "Snapshots should build their own copies when read");
+			assertEquals(contents, hmff.toString(), "Taking or reading a snapshot should not build the sections");
+			notified.clear();
+			hmff.set(3, "b");
+			assertEquals("[[b: 2 -> 3]]", notified.toString(), "Unbuilt sections should be compared by their range");
+			String separator = contents.contains("\r\n") ? "\r\n" : "\n";
+			assertEquals(contents.replace("b: 2", "b: 3" + separator), hmff.toString(), "Modified sections should keep the file's line terminator");
+			assertTrue(hmff.save());
+			assertEquals(hmff.toString(), Files.readString(hmff.getFile().toPath(), StandardCharsets.UTF_8));
+		}
+		assertTrue(hmff.removeChangeListener(listener));
+	}
+
+	@Test
+	@Order(130)
+	@DisplayName("Test parallel reload")
+	void testParallelReload() {
+		HMFF parallel = new HMFF(hmff.getFile(), StandardCharsets.UTF_8, LoadMode.PARALLEL);
+		parallel.setParallelThreshold(0);
+		List<String> lines = new ArrayList<>();
+		for (int i = 0; i < 8000; i++) {
+			lines.add("# comment " + i);
+			lines.add("section" + i + ": " + i);
+			if (i % 3 == 0) lines.add("  # nested comment " + i);
+			lines.add("  child: value " + i);
+			lines.add("    grandchild: " + i);
+			if (i % 5 == 0) lines.add("  # dangling comment " + i);
+		}
+		lines.add("# trailing");
+		hmff.save(lines.toArray(new String[lines.size()]));
+		assertTrue(parallel.reload());
+		hmff.reload();
+		assertEquals(hmff.toString(), parallel.toString(), "Parallel and sequential loading should produce the same structure");
+		assertSame(parallel, parallel.getSection("section7999").get().parent().get(), "Chunks should be moved onto the real root");
+		assertSame(parallel, parallel.getSection("section0", "child").get().getRoot(), "Chunks should be moved onto the real root");
+	}
+
+	@Test
+	@Order(140)
+	@DisplayName("Test writing to a channel")
+	void testWriteToChannel() throws IOException {
+		testGetSetInner();
+		hmff.comments().set("trailing");
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		hmff.writeTo(Channels.newChannel(out), StandardCharsets.UTF_8);
+		assertEquals("key: value\n\n  inner: inner value\n# trailing", out.toString(StandardCharsets.UTF_8));
+		assertEquals(List.of("key: value", "", "  inner: inner value", "# trailing"), hmff.getLines());
+	}
+
+	@Test
+	@Order(150)
+	@DisplayName("Test dirty tracking")
+	void testDirtyTracking() throws IOException {
+		assertFalse(hmff.isDirty(), "A freshly loaded file should not be dirty");
+		hmff.set("value", "key");
+		assertTrue(hmff.isDirty(), "Setting a new value should make the contents dirty");
+		assertTrue(hmff.save());
+		assertFalse(hmff.isDirty(), "Saving should make the contents clean");
+		hmff.set("value", "key");
+		hmff.getOrSetString("other", "key");
+		assertFalse(hmff.isDirty(), "Setting an identical value should not make the contents dirty");
+		hmff.getSection("key").get().comments().list().add("comment");
+		assertTrue(hmff.isDirty(), "Editing comments should make the contents dirty");
+		assertTrue(hmff.saveIfDirty());
+		Files.writeString(hmff.getFile().toPath(), "external: edit");
+		assertTrue(hmff.saveIfDirty());
+		assertEquals("external: edit", fileContents(), "Clean contents should not be written by saveIfDirty");
+		assertTrue(hmff.save());
+		assertEquals("# comment\nkey: value", fileContents(), "External changes to the file should be overwritten by save");
+		hmff.renameSection("renamed", "key");
+		assertTrue(hmff.isDirty(), "Renaming should make the contents dirty");
+		hmff.save();
+		hmff.removeSection("renamed");
+		assertTrue(hmff.isDirty(), "Removal should make the contents dirty");
+	}
+
+	@Test
+	@Order(160)
+	@DisplayName("Test autosave")
+	void testAutosave() throws InterruptedException {
+		hmff.enableAutosave(1, TimeUnit.HOURS);
+		hmff.set("value", "key");
+		assertEquals("", fileContents(), "Modifications should wait for the autosave interval");
+		assertTrue(hmff.flush());
+		assertEquals("key: value", fileContents(), "Flushing should write pending modifications");
+		hmff.enableAutosave(10, TimeUnit.MILLISECONDS);
+		hmff.set("other", "key");
+		for (int i = 0; i < 200 && hmff.isDirty(); i++) Thread.sleep(10);
+		assertEquals("key: other", fileContents(), "Modifications should be written once the interval passes");
+		hmff.disableAutosave();
+	}
+
+	@Test
+	@Order(170)
+	@DisplayName("Test journal")
+	void testJournal() throws IOException {
+		hmff.set("value", "key");
+		assertTrue(hmff.save());
+		hmff.enableJournal(1 << 20, 100);
+		hmff.set("inner value", "key", "inner");
+		hmff.renameSection("renamed", "key");
+		hmff.getOrSetString("created", "other");
+		assertTrue(hmff.save());
+		assertFalse(hmff.isDirty(), "Flushing the journal should make the contents clean");
+		assertEquals("key: value", fileContents(), "Journaled modifications should not rewrite the file");
+		File journal = new File(hmff.getFile().getPath() + ".journal");
+		assertTrue(journal.length() > 0, "Modifications should be appended to the journal");
+		HMFF replayed = new HMFF(hmff.getFile());
+		replayed.enableJournal();
+		assertEquals(hmff.toString(), replayed.toString(), "Replaying the journal should restore the modifications");
+		assertFalse(replayed.isDirty(), "Replayed modifications should not make the contents dirty");
+		assertTrue(replayed.compact());
+		assertEquals(0, journal.length(), "Compacting should empty the journal");
+		assertEquals(hmff.toString(), Files.readString(hmff.getFile().toPath()), "Compacting should fold the journal into the file");
+		assertTrue(replayed.disableJournal());
+		assertFalse(journal.exists(), "Disabling the journal should remove it");
+
+		hmff = new HMFF(hmff.getFile());
+		hmff.enableJournal(1 << 20, 100);
+		hmff.set("3", "b");
+		hmff.set("torn", "t");
+		assertTrue(hmff.save());
+		try (FileChannel channel = FileChannel.open(journal.toPath(), StandardOpenOption.WRITE)) {
+			channel.truncate(channel.size() - 2);
+		}
+		HMFF torn = new HMFF(hmff.getFile());
+		torn.enableJournal(1 << 20, 100);
+		assertFalse(torn.sectionExists("t"), "A torn record should not be replayed");
+		torn.set("4", "c");
+		assertTrue(torn.save());
+		HMFF reopened = new HMFF(hmff.getFile());
+		reopened.enableJournal(1 << 20, 100);
+		assertEquals("4", reopened.getString("c").get(), "Records appended after a torn record should be replayed");
+		assertEquals("3", reopened.getString("b").get());
+		try (FileChannel channel = FileChannel.open(journal.toPath(), StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+			channel.write(ByteBuffer.wrap(new byte[] {'S', 0x7f, -1, -1, -1}));
+		}
+		reopened = new HMFF(hmff.getFile());
+		reopened.enableJournal(1 << 20, 100);
+		assertEquals("4", reopened.getString("c").get(), "A torn record claiming a huge length should be ignored");
+	}
+
+	@Test
+	@Order(180)
+	@DisplayName("Test path index")
+	void testPathIndex() throws IOException {
+		hmff.set("value", "a", "b", "c");
+		hmff.enableIndex();
+		assertEquals("value", hmff.getString("a", "b", "c").get());
+		hmff.set("other", "a", "b", "d");
+		assertEquals("other", hmff.getString(new CompiledPath("a", "b", "d")).get(), "Added sections should be found");
+		hmff.renameSection("renamed", "a", "b");
+		assertFalse(hmff.sectionExists("a", "b", "c"), "Renamed sections should not be found at their old path");
+		assertEquals("value", hmff.getString("a", "renamed", "c").get(), "Renamed sections should be found at their new path");
+		hmff.removeSection("a");
+		assertFalse(hmff.sectionExists("a", "renamed", "d"), "Removed sections should not be found");
+		hmff.reload(new BufferedReader(new StringReader("a: 1\n  b: 2")));
+		assertEquals("2", hmff.getString("a", "b").get(), "Reloaded sections should be found");
+		hmff.reload(new BufferedReader(new StringReader("a: 3")));
+		assertFalse(hmff.sectionExists("a", "b"), "Sections replaced by a reload should not be found");
+	}
+
+	@Test
+	@Order(190)
+	@DisplayName("Test snapshots")
+	void testSnapshots() {
+		hmff.set("old", "a", "b", "c");
+		hmff.set("shared", "d", "e");
+		Section first = hmff.snapshot();
+		assertSame(first, hmff.snapshot(), "Unmodified contents should reuse the same snapshot");
+		hmff.set("new", "a", "b", "c");
+		Section second = hmff.snapshot();
+		assertEquals("old", first.getString("a", "b", "c").get(), "Snapshots should not see later modifications");
+		assertEquals("new", second.getString("a", "b", "c").get(), "New snapshots should see modifications");
+		assertSame(first.getSection("d").get(), second.getSection("d").get(), "Unmodified subtrees should be shared");
+		assertNotSame(first.getSection("a").get(), second.getSection("a").get(), "Modified subtrees should be copied");
+		assertThrows(UnsupportedOperationException.class, () -> second.set("value", "a"), "Snapshots should not be modifiable");
+		assertThrows(UnsupportedOperationException.class, () -> second.getSection("a").get().comments().append("comment"), "Snapshots should not be modifiable");
+	}
+
+	@Test
+	@Order(200)
+	@DisplayName("Test transactions")
+	void testTransactions() {
+		hmff.set(1, "a");
+		hmff.set("old", "b");
+		long before = hmff.modifications();
+		int[] attempts = new int[1];
+		hmff.update(tx -> {
+			attempts[0]++;
+			int a = tx.snapshot().getInt(0, "a");
+			if (attempts[0] == 1) hmff.set(a + 10, "a");
+			tx.set(a + 1, "a").removeSection("b").set("value", "c", "d").renameSection("e", "c");
+		});
+		assertEquals(2, attempts[0], "A transaction whose reads went stale should be retried");
+		assertEquals(12, hmff.getInt(0, "a"), "Transactions should see the latest contents once retried");
+		assertFalse(hmff.sectionExists("b"), "Transactions should apply removals");
+		assertEquals("value", hmff.getString("e", "d").get(), "Transactions should apply modifications in order");
+		assertTrue(hmff.modifications() > before, "Transactions should mark the contents modified");
+		assertThrows(IllegalStateException.class, () -> hmff.update(tx -> {
+			tx.set("partial", "f");
+			throw new IllegalStateException();
+		}));
+		assertFalse(hmff.sectionExists("f"), "Failed transactions should not modify anything");
+	}
+
+	@Test
+	@Order(210)
+	@DisplayName("Test change listeners")
+	void testChangeListeners() {
+		List<List<Change>> notified = new ArrayList<>();
+		Consumer<List<Change>> listener = notified::add;
+		hmff.setChangeExecutor(Runnable::run);
+		hmff.onChange(listener, "cache", "redis");
+		hmff.update(tx -> tx.set("localhost", "cache", "redis", "host").set(6379, "cache", "redis", "port").set("value", "other"));
+		assertEquals("[[cache.redis: null -> , cache.redis.host: null -> localhost, cache.redis.port: null -> 6379]]", notified.toString(), "Transactions should be reported as a whole");
+		notified.clear();
+		hmff.set("changed", "other");
+		assertTrue(notified.isEmpty(), "Changes outside of the path should not be reported");
+		hmff.removeSection("cache", "redis", "port");
+		assertEquals("[[cache.redis.port: 6379 -> null]]", notified.toString(), "Removals should be reported");
+		notified.clear();
+		hmff.reload(new BufferedReader(new StringReader("cache: a\n  redis: b\n    host: remote")));
+		assertEquals("[[cache.redis:  -> b, cache.redis.host: localhost -> remote]]", notified.toString(), "Reloads should be reported as a whole");
+		assertEquals(Optional.of("localhost"), notified.get(0).get(1).getOldValue());
+		notified.clear();
+		assertTrue(hmff.removeChangeListener(listener));
+		hmff.set("ignored", "cache", "redis", "host");
+		assertTrue(notified.isEmpty(), "Removed listeners should not be called");
+	}
+
+	@Test
+	@Order(215)
+	@DisplayName("Test change listener registration")
+	void testChangeListenerRegistration() {
+		List<Runnable> pending = new ArrayList<>();
+		List<List<Change>> early = new ArrayList<>(), late = new ArrayList<>();
+		hmff.setChangeExecutor(pending::add);
+		hmff.onChange(early::add);
+		hmff.set("before", "key");
+		hmff.onChange(late::add);
+		hmff.set("after", "key");
+		pending.forEach(Runnable::run);
+		assertEquals("[[key: null -> after]]", early.toString());
+		assertEquals("[[key: before -> after]]", late.toString(), "Listeners should not be told of changes made before they were added");
+		List<Throwable> failures = new ArrayList<>();
+		Thread thread = Thread.currentThread();
+		Thread.UncaughtExceptionHandler handler = thread.getUncaughtExceptionHandler();
+		thread.setUncaughtExceptionHandler((t, e) -> failures.add(e));
+		try {
+			hmff.setChangeExecutor(Runnable::run);
+			hmff.onChange(changes -> { throw new IllegalStateException(); });
+			hmff.set("thrown", "key");
+		} finally {
+			thread.setUncaughtExceptionHandler(handler);
+		}
+		assertEquals(1, failures.size(), "Listener exceptions should be passed to the uncaught exception handler");
+		assertTrue(failures.get(0) instanceof IllegalStateException);
+		assertEquals("[[key: after -> thrown]]", late.subList(1, 2).toString(), "Other listeners should still be called");
+	}
+
+	@Test
+	@Order(220)
+	@DisplayName("Test string deduplication")
+	void testStringDeduplication() {
+		String long1 = "a value which is far too long to be worth deduplicating";
+		hmff.save("a: 1", "  host: localhost", "  long: " + long1, "b: 2", "  host: localhost", "  long: " + long1);
+		hmff.reload();
+		Section a = hmff.getSection("a", "host").get(), b = hmff.getSection("b", "host").get();
+		assertSame(a.getKey(), b.getKey(), "Repeated keys should share an instance");
+		assertSame(a.getValue(), b.getValue(), "Repeated short values should share an instance");
+		assertNotSame(hmff.getString("a", "long").get(), hmff.getString("b", "long").get(), "Long values should not be deduplicated");
+		hmff.set(new String("value"), "c", new String("host"));
+		hmff.set(new String("value"), "d", new String("host"));
+		hmff.deduplicate();
+		assertSame(hmff.getSection("c", "host").get().getKey(), hmff.getSection("d", "host").get().getKey(), "Loaded trees should be deduplicated in place");
+		assertSame(hmff.getSection("c", "host").get().getKey(), hmff.getSection("c").get().children().keySet().iterator().next(), "Child maps should use the deduplicated keys");
+		assertSame(hmff.getString("c", "host").get(), hmff.getString("d", "host").get());
+		assertEquals("[a, b, c, d]", hmff.children().keySet().toString(), "Order should be kept");
+		StringTable strings = new StringTable();
+		hmff.setStringTable(strings);
+		hmff.reload();
+		HMFF other = new HMFF(hmff.getFile());
+		other.setStringTable(strings);
+		other.reload();
+		assertSame(hmff.getSection("a", "host").get().getKey(), other.getSection("b", "host").get().getKey(), "Shared tables should deduplicate across files");
+		StringTable shared = new StringTable();
+		List<Integer> keys = new ArrayList<>();
+		for (int i = 0; i < 10000; i++) keys.add(i);
+		keys.parallelStream().forEach(i -> shared.intern("key" + i % 5000));
+		for (int i = 0; i < 5000; i++) assertSame(shared.intern("key" + i), shared.intern(new String("key" + i)), "Tables shared between threads should settle on one instance");
+		assertTrue(shared.size() >= 5000 && shared.size() <= 10000);
+	}
+
+	@Test
+	@Order(230)
+	@DisplayName("Test compiled snapshots")
+	void testCompiledSnapshots() throws IOException {
+		hmff.save("# comment", "a: 1", "  host: localhost", "  # inner", "  port: 80", "b: \u00e9t\u00e9", "  host: localhost", "# trailing");
+		hmff.reload();
+		assertTrue(hmff.compile());
+		assertTrue(CompiledFile.of(hmff.getFile()).isFile(), "Compiling should write the snapshot alongside the file");
+		assertNotNull(CompiledFile.read(hmff.getFile(), new Section("")), "A fresh snapshot should be used");
+		HMFF compiled = new HMFF(hmff.getFile(), StandardCharsets.UTF_8, LoadMode.COMPILED);
+		assertEquals(hmff.toString(), compiled.toString(), "Compiled snapshots should load the same contents");
+		assertFalse(compiled.isDirty());
+		hmff.set("2", "a");
+		hmff.save();
+		assertNull(CompiledFile.read(hmff.getFile(), new Section("")), "A stale snapshot should be ignored");
+		assertEquals(hmff.toString(), new HMFF(hmff.getFile(), StandardCharsets.UTF_8, LoadMode.COMPILED).toString(), "Stale snapshots should fall back to parsing the file");
+
+		assertTrue(hmff.compile());
+		ByteBuffer snapshot = ByteBuffer.wrap(Files.readAllBytes(CompiledFile.of(hmff.getFile()).toPath()));
+		int records = 52 + 4 * (snapshot.getInt(28) + 1) + snapshot.getInt(32), sections = snapshot.getInt(36);
+		snapshot.putInt(records + 16 * (sections - 1), 99); // nest the last section deeper than its parent could be, under a valid checksum
+		CRC32C checksum = new CRC32C();
+		checksum.update(snapshot.duplicate().position(52));
+		snapshot.putInt(48, (int) checksum.getValue());
+		Files.write(CompiledFile.of(hmff.getFile()).toPath(), snapshot.array());
+		Section root = new Section("");
+		root.addChild("existing", "0");
+		assertNull(CompiledFile.read(hmff.getFile(), root), "A malformed snapshot should be ignored");
+		assertEquals("[existing]", root.children().keySet().toString(), "A malformed snapshot should leave the root untouched");
+		assertEquals(hmff.toString(), new HMFF(hmff.getFile(), StandardCharsets.UTF_8, LoadMode.COMPILED).toString(), "Malformed snapshots should fall back to parsing the file");
+	}
+
+	@Test
+	@Order(240)
+	@DisplayName("Test parsed file cache")
+	void testParsedFileCache() {
+		hmff.save("a: 1", "  b: 2");
+		HMFFCache cache = new HMFFCache(1 << 20);
+		Section first = cache.get(hmff.getFile());
+		assertSame(first, cache.get(hmff.getFile()), "Unchanged files should not be parsed again");
+		assertEquals(1, cache.hits());
+		assertEquals(1, cache.misses());
+		assertEquals("2", first.getString("a", "b").get());
+		assertThrows(UnsupportedOperationException.class, () -> first.set("value", "a"), "Cached contents should not be modifiable");
+		hmff.set("3", "a", "b");
+		hmff.save();
+		assertEquals("3", cache.get(hmff.getFile()).getString("a", "b").get(), "Changed files should be parsed again");
+		assertEquals(2, cache.misses());
+		assertEquals(1, cache.size());
+		cache.setMaxBytes(cache.bytes() - 1);
+		assertEquals(0, cache.size(), "Files past the memory budget should be evicted");
+		assertEquals(1, cache.evictions());
+		cache.get(hmff.getFile());
+		assertEquals(0, cache.size(), "Files larger than the memory budget should not be cached");
+		assertTrue(hmff.getFile().setLastModified(System.currentTimeMillis() - 10 * HMFFCache.TIME_GRANULARITY));
+		HMFFCache fresh = new HMFFCache(1 << 20);
+		List<Integer> threads = new ArrayList<>();
+		for (int i = 0; i < 16; i++) threads.add(i);
+		threads.parallelStream().forEach(i -> fresh.get(hmff.getFile()));
+		assertEquals(1, fresh.misses(), "Concurrent misses should only parse the file once");
+		assertEquals(15, fresh.hits());
+		assertTrue(fresh.bytes() > 0);
+	}
+
+	@Test
+	@Order(250)
+	@DisplayName("Test binding")
+	void testBinding() {
+		hmff.save("server: x", "  host: remote", "  port: 9000", "  mode: SECURE", "  limits: [1, 2, 3]", "  tags: [a, b]", "  pool:", "    max: 16", "  timeout: 5");
+		hmff.reload();
+		Server server = hmff.bind(Server.class, "server");
+		assertEquals("remote", server.host);
+		assertEquals(9000, server.port);
+		assertEquals(Mode.SECURE, server.mode);
+		assertEquals("[1, 2, 3]", Arrays.toString(server.limits));
+		assertEquals(List.of("a", "b"), server.tags);
+		assertEquals(16, server.pool.max, "Nested classes should be bound");
+		assertEquals(2, server.pool.min, "Missing values should keep their defaults");
+		assertEquals(5, server.timeoutSeconds, "Fields should be read from their path");
+		assertSame(Binder.of(Server.class), Binder.of(Server.class), "Binders should be built once per class");
+		assertEquals(8080, hmff.bind(Server.class, "missing").port, "Missing sections should give the defaults");
+
+		server.port = 9001;
+		server.tags = List.of("c");
+		server.pool.min = 4;
+		hmff.unbind(server, "copy");
+		assertEquals(9001, hmff.getInt(0, "copy", "port"));
+		assertEquals("[c]", hmff.getString("copy", "tags").get());
+		assertEquals("[1, 2, 3]", hmff.getString("copy", "limits").get());
+		assertEquals(4, hmff.getInt(0, "copy", "pool", "min"));
+		assertEquals(5, hmff.getInt(0, "copy", "timeout"));
+		Server copy = hmff.bind(Server.class, new CompiledPath("copy"));
+		assertEquals(server.host, copy.host, "Unbound objects should bind back to the same values");
+		assertEquals(server.tags, copy.tags);
+		assertThrows(IllegalArgumentException.class, () -> hmff.bind(Unbindable.class), "Classes without a no-argument constructor can't be bound");
+
+		Node first = new Node(), second = new Node();
+		first.next = second;
+		hmff.unbind(first, "chain");
+		assertTrue(hmff.sectionExists("chain", "next"), "Acyclic graphs should be written");
+		second.next = first;
+		assertThrows(IllegalArgumentException.class, () -> hmff.unbind(first, "cycle"), "Cycles should be rejected rather than overflow the stack");
+		server.tags = List.of("a, b");
+		assertThrows(IllegalArgumentException.class, () -> hmff.unbind(server, "copy"), "Elements which would be read back as several should be rejected");
+		server.tags = List.of("[x]");
+		assertThrows(IllegalArgumentException.class, () -> hmff.unbind(server, "copy"));
+
+		hmff.save("invalid: x", "  limits: [1, x, 3]", "  ports: [443, y]", "  modes: [SECURE, PLAIN]");
+		hmff.reload();
+		Server invalid = hmff.bind(Server.class, "invalid");
+		assertNull(invalid.limits, "Primitive arrays with an invalid element should keep their defaults");
+		assertEquals(List.of(80), invalid.ports, "Lists with an invalid element should keep their defaults");
+		assertEquals("[SECURE, PLAIN]", Arrays.toString(invalid.modes), "Enum elements should be parsed in place");
+	}
+
+	enum Mode {
+		PLAIN, SECURE
+	}
+
+	static class Pool {
+		int min = 2, max = 8;
+	}
+
+	static class Server {
+		String host = "localhost";
+		int port = 8080;
+		Mode mode = Mode.PLAIN;
+		long[] limits;
+		List<String> tags;
+		List<Integer> ports = List.of(80);
+		Mode[] modes;
+		Pool pool = new Pool();
+		@HMFFPath("timeout")
+		int timeoutSeconds = 30;
+		transient int ignored;
+	}
+
+	static class Node {
+		String name = "node";
+		Node next;
+	}
+
+		static class Unbindable {
+		Unbindable(int value) { }
+	}
+
 }
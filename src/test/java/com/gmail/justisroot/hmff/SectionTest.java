@@ -1,6 +1,9 @@
 package com.gmail.justisroot.hmff;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import org.junit.jupiter.api.BeforeEach;
@@ -52,7 +55,7 @@ public class SectionTest {
 	public void testCopyTo() {
 		Section child = section.getOrCreateSection("parent", "child", "grandchild");
 		child.setValue("grandchildvalue");
-		child.parent.get().copyTo(section);
+		child.parent.copyTo(section);
 		assertEquals("childvalue", section.getString("parent", "child").get(), "Child section should remain");
 		assertEquals("childvalue", section.getString("child").get(), "Child section should have been copied");
 		assertEquals("grandchildvalue", section.getString("parent", "child", "grandchild").get(), "Grandchild section should remain");
@@ -60,4 +63,50 @@ public class SectionTest {
 	}
 
 
+	@Test
+	@DisplayName("Test compiled paths")
+	public void testCompiledPaths() {
+		CompiledPath child = CompiledPath.parse("parent.child");
+		assertEquals(new CompiledPath("parent", "child"), child, "Parsed and constructed paths should be equal");
+		assertEquals("parent.child", child.toString());
+		assertEquals(section.getSection("parent", "child"), section.getSection(child), "Compiled paths should find the same section");
+		assertEquals("childvalue", section.getString(child).get());
+		section.set(5, child);
+		assertEquals(5, section.getInteger(child).get());
+		CompiledPath missing = new CompiledPath("parent", "missing");
+		assertEquals("default", section.getOrSetString("default", missing));
+		section.renameSection("renamed", missing);
+		assertTrue(section.sectionExists("parent", "renamed"), "Compiled paths should rename sections");
+		section.removeSection(child);
+		assertFalse(section.sectionExists(child), "Compiled paths should remove sections");
+	}
+
+	@Test
+	@DisplayName("Test parsed value cache")
+	public void testParsedValueCache() {
+		section.set(" 123456 ", "parent", "child");
+		assertSame(section.getInteger("parent", "child").get(), section.getInteger("parent", "child").get(), "Repeated reads should reuse the parsed value");
+		Integer integer = section.getInteger("parent", "child").get();
+		Long parsedLong = section.getLong("parent", "child").get();
+		assertEquals(123456L, parsedLong, "Reading another type should parse again");
+		assertSame(integer, section.getInteger("parent", "child").get(), "Reading another type should not evict the first");
+		assertSame(parsedLong, section.getLong("parent", "child").get(), "Alternating types should each keep their parsed value");
+		section.set("invalid", "parent", "child");
+		assertFalse(section.getInteger("parent", "child").isPresent(), "Changing the value should discard the parsed value");
+		assertFalse(section.getInteger("parent", "child").isPresent(), "Failed parses should remain empty");
+	}
+
+	@Test
+	@DisplayName("Test compact layout")
+	public void testCompactLayout() {
+		Section child = section.getSection("parent", "child").get();
+		assertEquals(2, child.countParents());
+		assertFalse(section.sectionExists("parent", "child", "missing"));
+		assertNull(child.children, "Leaves should not hold a map of children until they have one");
+		assertNull(child.comments, "Sections should not hold comments until they have some");
+		child.addChild("grandchild");
+		assertEquals(3, child.getSection("grandchild").get().countParents());
+		assertSame(section, child.getSection("grandchild").get().getRoot());
+	}
+
 }
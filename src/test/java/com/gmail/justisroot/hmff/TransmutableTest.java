@@ -1,5 +1,6 @@
 package com.gmail.justisroot.hmff;
 
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.util.Arrays;
@@ -524,4 +525,55 @@ public class TransmutableTest extends FileTest {
 		assertTrue(Arrays.equals(array, value));
 	}
 
+	@Test
+	@Order(370)
+	@DisplayName("Test get primitives")
+	void testGetPrimitives() {
+		hmff.set(Integer.MAX_VALUE, "int");
+		hmff.set(Long.MAX_VALUE, "long");
+		hmff.set(0.5, "double");
+		hmff.set("invalid", "invalid");
+		assertTrue(hmff.getInt("int").getAsInt() == Integer.MAX_VALUE, "Could not validate int value");
+		assertTrue(hmff.getInt(-1, "int") == Integer.MAX_VALUE, "Could not validate int value");
+		assertTrue(hmff.getLong(-1, "long") == Long.MAX_VALUE, "Could not validate long value");
+		assertTrue(hmff.getDouble(-1, "double") == 0.5, "Could not validate double value");
+		assertTrue(hmff.getInt("invalid").isEmpty(), "Invalid values should be empty");
+		assertTrue(hmff.getLong(-1, "missing") == -1, "Missing values should use the default");
+	}
+
+	@Test
+	@Order(380)
+	@DisplayName("Test get primitive arrays")
+	void testGetPrimitiveArrays() {
+		int[] ints = new int[] {1, -2, 3, Integer.MIN_VALUE};
+		long[] longs = new long[] {Long.MAX_VALUE, 0, -5};
+		double[] doubles = new double[] {0.5, -1e10, 3};
+		boolean[] booleans = new boolean[] {true, false, true};
+		hmff.set(ints, "int");
+		hmff.set(longs, "long");
+		hmff.set(doubles, "double");
+		hmff.set(booleans, "boolean");
+		hmff.set("1 2\t 3", "spaced");
+		assertTrue(Arrays.equals(ints, hmff.getIntArray(null, "int")), "Could not validate int array");
+		assertTrue(Arrays.equals(longs, hmff.getLongArray(new long[0], "long")), "Could not validate long array");
+		assertTrue(Arrays.equals(doubles, hmff.getDoubleArray(new double[0], "double")), "Could not validate double array");
+		assertTrue(Arrays.equals(booleans, hmff.getBooleanArray(new boolean[0], "boolean")), "Could not validate boolean array");
+		assertTrue(Arrays.equals(new int[] {1, 2, 3}, hmff.getIntArray(null, "spaced")), "Could not validate whitespace separated array");
+		assertTrue(hmff.getIntArray(null, "missing") == null, "Missing arrays should use the default");
+	}
+
+	@Test
+	@Order(390)
+	@DisplayName("Test array formats")
+	void testArrayFormats() {
+		hmff.set("[a, b,c,  d,,]", "bracketed");
+		hmff.set(" a \t b  c ", "spaced");
+		hmff.set("[]", "empty");
+		hmff.set("[1, 200]", "byte");
+		assertTrue(Arrays.equals(new String[] {"a", "b", "c", " d"}, hmff.getStringArray("bracketed").get()), "Bracketed entries should be split on commas");
+		assertTrue(Arrays.equals(new String[] {"a", "b", "c"}, hmff.getStringArray("spaced").get()), "Other entries should be split on whitespace");
+		assertTrue(Arrays.equals(new String[] {""}, hmff.getStringArray("empty").get()), "Empty brackets should hold a single empty entry");
+		assertThrows(NumberFormatException.class, () -> hmff.getByteArray("byte"), "Out of range entries should not be parsed");
+	}
+
 }
@@ -0,0 +1,198 @@
+package com.gmail.justisroot.hmff.processor;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.lang.reflect.InvocationTargetException;
+import java.net.URI;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import javax.tools.Diagnostic;
+import javax.tools.DiagnosticCollector;
+import javax.tools.JavaCompiler;
+import javax.tools.JavaFileObject;
+import javax.tools.SimpleJavaFileObject;
+import javax.tools.ToolProvider;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.api.TestInstance.Lifecycle;
+
+import com.gmail.justisroot.hmff.HMFF;
+
+@TestInstance(Lifecycle.PER_CLASS)
+public class HMFFConfigProcessorTest {
+
+	private Path output;
+
+	@BeforeAll
+	public void createOutput() throws IOException {
+		output = Files.createTempDirectory("HMFFConfigProcessorTest");
+	}
+
+	@AfterAll
+	public void deleteOutput() throws IOException {
+		try (Stream<Path> files = Files.walk(output)) {
+			for (Path file : files.sorted(Comparator.reverseOrder()).collect(Collectors.toList())) Files.delete(file);
+		}
+	}
+
+	@Test
+	@DisplayName("Test name collisions")
+	void testNameCollisions() throws Exception {
+		Object config = compile("test.Collisions", "test.CollisionsAccessor", "package test;",
+			"import com.gmail.justisroot.hmff.*;",
+			"@HMFFConfig public interface Collisions {",
+			"  long count();",
+			"  String current();",
+			"  int load();",
+			"  String values();",
+			"  String hmff();",
+			"  String fooBar();",
+			"  @HMFFPath(\"other\") String foo_bar();",
+			"}");
+		HMFF hmff = hmff(config);
+		hmff.set(3, "count");
+		hmff.set("now", "current");
+		hmff.set(4, "load");
+		hmff.set("all", "values");
+		hmff.set("file", "hmff");
+		hmff.set("camel", "fooBar");
+		hmff.set("snake", "other");
+		assertEquals(3L, call(config, "count"));
+		assertEquals("now", call(config, "current"));
+		assertEquals(4, call(config, "load"));
+		assertEquals("all", call(config, "values"));
+		assertEquals("file", call(config, "hmff"));
+		assertEquals("camel", call(config, "fooBar"));
+		assertEquals("snake", call(config, "foo_bar"), "Properties whose constants would collide should keep their own paths");
+		hmff.set(5, "count");
+		assertEquals(5L, call(config, "count"), "Values should be parsed again once modified");
+	}
+
+	@Test
+	@DisplayName("Test default and abstract methods")
+	void testDefaultAndAbstractMethods() throws Exception {
+		Object config = compile("test.Defaults", "test.DefaultsImpl", "package test;",
+			"import com.gmail.justisroot.hmff.*;",
+			"@HMFFConfig(name = \"DefaultsImpl\") public interface Defaults {",
+			"  Integer required();",
+			"  @HMFFPath(\"port\") default int port() { return 8080; }",
+			"  default String computed() { return \"body\"; }",
+			"}");
+		HMFF hmff = hmff(config);
+		assertEquals(8080, call(config, "port"), "Default methods should supply the value of missing paths");
+		assertEquals("body", call(config, "computed"), "Default methods without a path should not be implemented");
+		assertThrows(NoSuchElementException.class, () -> call(config, "required"), "Abstract methods should throw for missing paths");
+		hmff.set(1, "required");
+		hmff.set(25565, "port");
+		hmff.set("ignored", "computed");
+		assertEquals(1, call(config, "required"));
+		assertEquals(25565, call(config, "port"));
+		assertEquals("body", call(config, "computed"));
+	}
+
+	@Test
+	@DisplayName("Test path prefixes")
+	void testPathPrefixes() throws Exception {
+		Object config = compile("test.Prefixed", "test.PrefixedAccessor", "package test;",
+			"import com.gmail.justisroot.hmff.*;",
+			"@HMFFConfig(path = \"server.http\") public interface Prefixed {",
+			"  String host();",
+			"  @HMFFPath(\"limits.connections\") int connections();",
+			"  @HMFFPath(\"dotted\\\"quote\") boolean quoted();",
+			"}");
+		HMFF hmff = hmff(config);
+		hmff.set("localhost", "server", "http", "host");
+		hmff.set(16, "server", "http", "limits", "connections");
+		hmff.set(true, "server", "http", "dotted\"quote");
+		hmff.set("wrong", "host");
+		assertEquals("localhost", call(config, "host"), "Paths should be relative to the interface's path");
+		assertEquals(16, call(config, "connections"), "Method paths should be split into segments");
+		assertEquals(true, call(config, "quoted"), "Segments should be escaped in the generated source");
+	}
+
+	@Test
+	@DisplayName("Test invalid interfaces")
+	void testInvalidInterfaces() throws IOException {
+		List<String> errors = errors("test.BadReturn", "package test;",
+			"import com.gmail.justisroot.hmff.*;",
+			"@HMFFConfig public interface BadReturn {",
+			"  java.util.List<String> list();",
+			"  char letter();",
+			"  String parameter(int index);",
+			"}");
+		assertEquals(3, errors.size(), "Every invalid method should be reported: " + errors);
+		assertTrue(errors.get(0).contains("must return a String, a primitive or a primitive wrapper"), errors.get(0));
+		assertTrue(errors.get(2).contains("can't take parameters"), errors.get(2));
+		errors = errors("test.NotInterface", "package test;",
+			"@com.gmail.justisroot.hmff.HMFFConfig public class NotInterface { }");
+		assertEquals(List.of("@HMFFConfig can only be applied to interfaces"), errors);
+		errors = errors("test.Generic", "package test;",
+			"@com.gmail.justisroot.hmff.HMFFConfig public interface Generic<T> { }");
+		assertEquals(List.of("@HMFFConfig interfaces can't be generic"), errors);
+		assertFalse(Files.exists(output.resolve("test/BadReturnAccessor.class")), "Nothing should be generated for invalid interfaces");
+	}
+
+	/** Compile the interface along with its generated accessor, and construct the accessor around a fresh {@link HMFF} **/
+	private Object compile(String name, String accessor, String... lines) throws Exception {
+		List<String> errors = errors(name, lines);
+		assertTrue(errors.isEmpty(), "The generated accessor should compile: " + errors);
+		ClassLoader loader = new URLClassLoader(new URL[] {output.toUri().toURL()}, getClass().getClassLoader()); // left open, as the accessor loads more classes as it runs
+		File file = output.resolve(accessor + ".hmff").toFile();
+		return loader.loadClass(accessor).getConstructor(HMFF.class).newInstance(new HMFF(file));
+	}
+
+	/** Compile a single source with the processor, returning the messages of any errors reported **/
+	private List<String> errors(String name, String... lines) throws IOException {
+		JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+		DiagnosticCollector<JavaFileObject> diagnostics = new DiagnosticCollector<>();
+		JavaFileObject source = new SimpleJavaFileObject(URI.create("string:///" + name.replace('.', '/') + ".java"), JavaFileObject.Kind.SOURCE) {
+			@Override
+			public CharSequence getCharContent(boolean ignoreEncodingErrors) {
+				return String.join("\n", lines);
+			}
+		};
+		List<String> options = List.of("-d", output.toString(), "-s", output.toString(), "-classpath", System.getProperty("java.class.path"));
+		JavaCompiler.CompilationTask task = compiler.getTask(null, null, diagnostics, options, null, List.of(source));
+		task.setProcessors(List.of(new HMFFConfigProcessor()));
+		task.call();
+		List<String> errors = new ArrayList<>();
+		for (Diagnostic<? extends JavaFileObject> diagnostic : diagnostics.getDiagnostics()) {
+			if (diagnostic.getKind() == Diagnostic.Kind.ERROR) errors.add(diagnostic.getMessage(null));
+		}
+		return errors;
+	}
+
+	private static HMFF hmff(Object config) throws ReflectiveOperationException {
+		java.lang.reflect.Field field = config.getClass().getDeclaredField("hmff");
+		field.setAccessible(true);
+		return (HMFF) field.get(config);
+	}
+
+	private static Object call(Object config, String method) throws Exception {
+		try {
+			return config.getClass().getMethod(method).invoke(config);
+		} catch (InvocationTargetException e) {
+			if (e.getCause() instanceof Exception) throw (Exception) e.getCause();
+			throw e;
+		}
+	}
+
+}